@@ -1,8 +1,8 @@
 package com.cognixia.jump.connection;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 
 /**
  * CONNECTION MANAGER
@@ -10,20 +10,43 @@ import java.sql.SQLException;
  * Manages database connections for the Progress Tracker application.
  * Implements the Singleton pattern to ensure centralized connection management.
  * 
+ * Connections are served from a bounded pool (see ConnectionPool), so DAOs can
+ * keep the "get a connection, close it when done" pattern without paying a
+ * TCP and authentication handshake on every call.
  */
 public class ConnectionManager {
     
     // Database connection parameters
-    private static final String URL = "jdbc:mysql://localhost:3306/progress_tracker_db?serverTimezone=UTC";
+    // connectionTimeZone with forceConnectionTimeZoneToSession sets the session time_zone to
+    // UTC, so NOW(), CURRENT_DATE and DATE(...) day buckets are UTC whatever the server's zone;
+    // useServerPrepStmts lets cached statements skip the server-side parse as well;
+    // useCursorFetch makes statements with a fetch size read through a server-side cursor;
+    // rewriteBatchedStatements sends an executeBatch() of inserts as one multi-row INSERT
+    // (and other batches as one round trip), at the cost of per-row update counts
+    private static final String URL = "jdbc:mysql://localhost:3306/progress_tracker_db"
+            + "?connectionTimeZone=UTC&forceConnectionTimeZoneToSession=true"
+            + "&useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true";
     private static final String USERNAME = "root";  // Change
     private static final String PASSWORD = "yourpassword";  // Change
     
     // JDBC driver class name for MySQL 8.0
     private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
     
+    // Connection pool settings
+    private static final int POOL_MIN_IDLE = 2;                      // Connections kept open while idle
+    private static final int POOL_MAX_SIZE = 10;                     // Hard cap on open connections
+    private static final long POOL_BORROW_TIMEOUT_MS = 5_000;        // Max wait in getConnection()
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;     // Idle time before eviction
+    private static final long POOL_EVICTION_INTERVAL_MS = 30_000;    // How often the evictor runs
+    private static final long POOL_VALIDATION_THRESHOLD_MS = 1_000;  // Skip validation if used this recently
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = 2;    // isValid() timeout on borrow
+    private static final int STATEMENT_CACHE_SIZE = 64;              // Prepared statements kept per connection
+    
     // Singleton instance
     private static ConnectionManager instance = null;
     
+    private final ConnectionPool pool;
+    
     // Private constructor prevents external instantiation
     private ConnectionManager() {
         try {
@@ -34,6 +57,11 @@ public class ConnectionManager {
             System.err.println("❌ Error loading MySQL JDBC Driver: " + e.getMessage());
             throw new RuntimeException("Failed to load database driver", e);
         }
+        
+        this.pool = new ConnectionPool(URL, USERNAME, PASSWORD,
+                POOL_MIN_IDLE, POOL_MAX_SIZE, POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS,
+                POOL_EVICTION_INTERVAL_MS, POOL_VALIDATION_THRESHOLD_MS, POOL_VALIDATION_TIMEOUT_SECONDS,
+                STATEMENT_CACHE_SIZE);
     }
     
     /**
@@ -50,20 +78,20 @@ public class ConnectionManager {
     }
     
     /**
-     * Creates and returns a new database connection
-     * Each DAO method should get its own connection and close it when done
+     * Borrows a database connection from the pool
+     * Each DAO method should get its own connection and close it when done;
+     * closing returns it to the pool with auto-commit restored
      * 
      * @return Connection object to the database
-     * @throws SQLException if connection cannot be established
+     * @throws SQLException if connection cannot be established or the pool is exhausted
      */
     public Connection getConnection() throws SQLException {
         try {
-            Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+            return pool.borrow();
             
-            // Set connection properties
-            connection.setAutoCommit(true);  // Auto-commit for simplicity
-            
-            return connection;
+        } catch (SQLTimeoutException e) {
+            System.err.println("❌ No database connection available: " + e.getMessage());
+            throw e;
             
         } catch (SQLException e) {
             System.err.println("❌ Failed to establish database connection: " + e.getMessage());
@@ -101,4 +129,22 @@ public class ConnectionManager {
         return String.format("URL: %s | User: %s | Password: %s", 
                 URL, USERNAME, PASSWORD.isEmpty() ? "[none]" : "[hidden]");
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get current pool counters (active, idle, waiting connections)
+     * and the prepared statement cache hit rate
+     * 
+     * @return snapshot of the pool state
+     */
+    public PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+    
+    /**
+     * Close all pooled connections
+     * Called once when the application exits
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,458 @@
+package com.cognixia.jump.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CONNECTION POOL
+ *
+ * Small bounded JDBC connection pool used internally by ConnectionManager.
+ *
+ * - Keeps at least minIdle physical connections open and never more than maxSize
+ * - Validates connections on borrow (skipped if the connection was used very recently)
+ * - Evicts connections that sit idle longer than idleTimeout, down to minIdle
+ * - Blocks callers up to borrowTimeout when every connection is in use
+ * - Keeps a per-connection prepared statement cache (see StatementCache)
+ *
+ * Callers get a proxy Connection whose close() returns the physical
+ * connection to the pool, so existing try-with-resources code keeps working.
+ */
+class ConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Pool state, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionAvailable = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int active = 0;
+    private int waiting = 0;
+    private int total = 0;           // active + idle + connections being opened
+    private long totalCreated = 0;
+    private long totalDestroyed = 0;
+    private long borrowTimeouts = 0;
+    private boolean closed = false;
+
+    // Statement cache counters, shared by every connection's cache
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    private final ScheduledExecutorService evictor;
+
+    ConnectionPool(String url, String username, String password,
+                   int minIdle, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                   long evictionIntervalMillis, long validationThresholdMillis, int validationTimeoutSeconds,
+                   int statementCacheSize) {
+        if (minIdle < 0 || maxSize <= 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool sizes must satisfy 0 <= minIdle <= maxSize and maxSize > 0");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationThresholdMillis = validationThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(this::evictAndRefill,
+                evictionIntervalMillis, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to borrowTimeout if the pool is exhausted
+     *
+     * @return proxy connection that returns itself to the pool on close()
+     * @throws SQLException if no connection could be opened or the wait timed out
+     */
+    Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection candidate = null;
+
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && total >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        borrowTimeouts++;
+                        throw new SQLTimeoutException(String.format(
+                                "Timed out after %d ms waiting for a database connection (active=%d, max=%d)",
+                                borrowTimeoutMillis, active, maxSize));
+                    }
+                    waiting++;
+                    try {
+                        connectionAvailable.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool has been shut down");
+                }
+
+                // Reserve a slot: reuse the most recently returned connection, or open a new one
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else {
+                    total++;
+                }
+                active++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (candidate == null) {
+                PooledConnection created;
+                try {
+                    created = openPhysicalConnection();
+                } catch (SQLException e) {
+                    releaseSlot(false);
+                    throw e;
+                }
+                return created.lease();
+            }
+
+            if (isUsable(candidate)) {
+                return candidate.lease();
+            }
+
+            // Stale connection - drop it and try again
+            candidate.closePhysical();
+            releaseSlot(true);
+        }
+    }
+
+    /**
+     * Snapshot of the pool counters
+     */
+    PoolStats getStats() {
+        lock.lock();
+        try {
+            return new PoolStats(active, idle.size(), waiting, maxSize, totalCreated, totalDestroyed, borrowTimeouts,
+                    statementCacheHits.get(), statementCacheMisses.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close every idle connection and reject further borrows.
+     * Connections still borrowed are closed when they are returned.
+     */
+    void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            totalDestroyed += idle.size();
+            idle.clear();
+            connectionAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+        toClose.forEach(PooledConnection::closePhysical);
+    }
+
+    /**
+     * Open a new physical connection. Caller must already have reserved a slot in total.
+     */
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        physical.setAutoCommit(true);
+        lock.lock();
+        try {
+            totalCreated++;
+        } finally {
+            lock.unlock();
+        }
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Validate on borrow. A connection used within the threshold is trusted
+     * without a ping so back-to-back DAO calls don't pay an extra round trip.
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsedMillis < validationThresholdMillis) {
+                return true;
+            }
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Give back a slot reserved by borrow() after the connection was discarded
+     */
+    private void releaseSlot(boolean destroyed) {
+        lock.lock();
+        try {
+            active--;
+            total--;
+            if (destroyed) {
+                totalDestroyed++;
+            }
+            connectionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called when a borrower closes its proxy connection
+     */
+    private void giveBack(PooledConnection pooled) {
+        boolean reusable = pooled.resetState();
+
+        lock.lock();
+        try {
+            active--;
+            if (reusable && !closed) {
+                pooled.lastUsedMillis = System.currentTimeMillis();
+                idle.addFirst(pooled);
+                connectionAvailable.signal();
+                return;
+            }
+            total--;
+            totalDestroyed++;
+            connectionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        pooled.closePhysical();
+    }
+
+    /**
+     * Background task: close connections idle past the timeout (keeping minIdle),
+     * then open new ones if the pool dropped below minIdle.
+     */
+    private void evictAndRefill() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        int toOpen;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            // Oldest returned connections sit at the tail of the deque
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && idle.size() > minIdle) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.lastUsedMillis >= idleTimeoutMillis) {
+                    oldestFirst.remove();
+                    evicted.add(pooled);
+                }
+            }
+            total -= evicted.size();
+            totalDestroyed += evicted.size();
+
+            toOpen = Math.min(minIdle - idle.size(), maxSize - total);
+            if (toOpen > 0) {
+                total += toOpen;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(PooledConnection::closePhysical);
+
+        for (int i = 0; i < toOpen; i++) {
+            try {
+                PooledConnection created = openPhysicalConnection();
+                lock.lock();
+                try {
+                    if (closed) {
+                        total--;
+                        totalDestroyed++;
+                        created.closePhysical();
+                    } else {
+                        created.lastUsedMillis = System.currentTimeMillis();
+                        idle.addLast(created);
+                        connectionAvailable.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                System.err.println("Connection pool could not refill idle connections: " + e.getMessage());
+                lock.lock();
+                try {
+                    total -= (toOpen - i);
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * One physical connection owned by the pool
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastUsedMillis;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(physical, statementCacheSize,
+                    statementCacheHits, statementCacheMisses);
+            this.lastUsedMillis = System.currentTimeMillis();
+        }
+
+        /**
+         * Hand out a fresh proxy for one borrower
+         */
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new LeaseHandler(this));
+        }
+
+        /**
+         * Undo anything a borrower may have changed so the next one starts clean.
+         * Returns false if the connection is no longer safe to reuse.
+         */
+        boolean resetState() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // Already broken - nothing else to do
+            }
+        }
+    }
+
+    /**
+     * Proxy behaviour for a single lease: close() returns the connection to the
+     * pool exactly once, and the handle is unusable afterwards.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private boolean released = false;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            if ("prepareStatement".equals(method.getName()) && isCacheable(method)) {
+                int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return pooled.statementCache.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) only
+         */
+        private boolean isCacheable(Method method) {
+            Class<?>[] params = method.getParameterTypes();
+            return (params.length == 1 && params[0] == String.class)
+                    || (params.length == 2 && params[0] == String.class && params[1] == int.class);
+        }
+    }
+}
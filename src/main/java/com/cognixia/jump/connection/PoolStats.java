@@ -0,0 +1,87 @@
+package com.cognixia.jump.connection;
+
+/**
+ * POOL STATS
+ *
+ * Point-in-time snapshot of the connection pool counters.
+ * Returned by ConnectionManager.getPoolStats() for monitoring and debugging.
+ */
+public class PoolStats {
+
+    private final int activeConnections;   // Borrowed and not yet returned
+    private final int idleConnections;     // Open and waiting in the pool
+    private final int waitingThreads;      // Callers blocked in getConnection()
+    private final int maxPoolSize;
+    private final long totalCreated;       // Physical connections opened since startup
+    private final long totalDestroyed;     // Physical connections closed (evicted or invalid)
+    private final long borrowTimeouts;     // getConnection() calls that gave up waiting
+    private final long statementCacheHits;   // prepareStatement() served from the cache
+    private final long statementCacheMisses; // prepareStatement() that had to prepare
+
+    public PoolStats(int activeConnections, int idleConnections, int waitingThreads, int maxPoolSize,
+                     long totalCreated, long totalDestroyed, long borrowTimeouts,
+                     long statementCacheHits, long statementCacheMisses) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.maxPoolSize = maxPoolSize;
+        this.totalCreated = totalCreated;
+        this.totalDestroyed = totalDestroyed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    // Getters
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getTotalCreated() {
+        return totalCreated;
+    }
+
+    public long getTotalDestroyed() {
+        return totalDestroyed;
+    }
+
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Fraction of prepareStatement() calls served from the cache (0.0 - 1.0)
+     */
+    public double getStatementCacheHitRate() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{active=%d, idle=%d, waiting=%d, max=%d, created=%d, destroyed=%d, timeouts=%d, "
+                + "stmtCacheHitRate=%.1f%%}",
+                activeConnections, idleConnections, waitingThreads, maxPoolSize,
+                totalCreated, totalDestroyed, borrowTimeouts, getStatementCacheHitRate() * 100);
+    }
+}
@@ -0,0 +1,247 @@
+package com.cognixia.jump.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STATEMENT CACHE
+ *
+ * LRU cache of prepared statements for one pooled physical connection, keyed by
+ * SQL text. DAOs keep calling conn.prepareStatement(sql) and closing the result;
+ * on a hit they get back the statement prepared earlier on the same connection,
+ * and close() just hands it back to the cache.
+ *
+ * Together with useServerPrepStmts=true on the JDBC URL this skips both the
+ * client-side parse and the server-side prepare for repeated hot-path queries.
+ *
+ * Only plain prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys)
+ * are cached. Statements created with other options (scrollable, custom column
+ * keys) are passed straight through. A cache instance is only ever used by the
+ * single borrower currently holding its connection, so it is not thread-safe.
+ *
+ * Execution settings a borrower changes (fetch size, max rows, query timeout and
+ * the like) are put back to the driver defaults on checkin, so they never leak
+ * to the next borrower of the same SQL.
+ */
+class StatementCache {
+
+    // Statement setters whose effect outlives one execution
+    private static final Set<String> SETTINGS = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+            "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setPoolable");
+
+    private final Connection physical;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final Map<String, CachedStatement> entries;
+
+    StatementCache(Connection physical, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Return a cached statement for this SQL, preparing and caching it on a miss
+     *
+     * @param connectionHandle the proxy connection the borrower holds (returned from getConnection())
+     * @param sql the statement text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     */
+    PreparedStatement prepare(Connection connectionHandle, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K|" : "N|") + sql;
+        CachedStatement cached = entries.get(key);
+
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+            return cached.checkout(connectionHandle);
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null) {
+            // Same SQL already open on this connection (nested use) - don't cache a second copy
+            return statement;
+        }
+
+        try {
+            cached = new CachedStatement(statement);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        entries.put(key, cached);
+        return cached.checkout(connectionHandle);
+    }
+
+    /**
+     * A statement owned by the cache
+     */
+    private static final class CachedStatement {
+
+        private final PreparedStatement statement;
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        // Driver defaults, restored after a borrower changed them
+        private final int fetchSize;
+        private final int fetchDirection;
+        private final long maxRows;
+        private final int maxFieldSize;
+        private final int queryTimeout;
+        private final boolean poolable;
+
+        CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.fetchDirection = statement.getFetchDirection();
+            this.maxRows = statement.getLargeMaxRows();
+            this.maxFieldSize = statement.getMaxFieldSize();
+            this.queryTimeout = statement.getQueryTimeout();
+            this.poolable = statement.isPoolable();
+        }
+
+        PreparedStatement checkout(Connection connectionHandle) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new CheckoutHandler(this, connectionHandle));
+        }
+
+        /**
+         * Called when the borrower closes its handle. Leaves the statement
+         * ready for the next caller, or closes it if it was evicted meanwhile.
+         */
+        void checkin(ResultSet openResults, boolean settingsChanged) {
+            inUse = false;
+            try {
+                if (openResults != null) {
+                    openResults.close();
+                }
+                if (evicted) {
+                    statement.close();
+                } else {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                    if (settingsChanged) {
+                        resetSettings();
+                    }
+                }
+            } catch (SQLException e) {
+                evicted = true;
+                closeQuietly();
+            }
+        }
+
+        private void resetSettings() throws SQLException {
+            statement.setFetchSize(fetchSize);
+            statement.setFetchDirection(fetchDirection);
+            statement.setLargeMaxRows(maxRows);
+            statement.setMaxFieldSize(maxFieldSize);
+            statement.setQueryTimeout(queryTimeout);
+            statement.setEscapeProcessing(true);
+            statement.setPoolable(poolable);
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Connection is probably gone - nothing else to do
+            }
+        }
+    }
+
+    /**
+     * Proxy behaviour for one checkout: close() returns the statement to the cache
+     */
+    private static final class CheckoutHandler implements InvocationHandler {
+
+        private final CachedStatement cached;
+        private final Connection connectionHandle;
+        private ResultSet lastResults;
+        private boolean released = false;
+        private boolean settingsChanged = false;
+
+        CheckoutHandler(CachedStatement cached, Connection connectionHandle) {
+            this.cached = cached;
+            this.connectionHandle = connectionHandle;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        cached.checkin(lastResults, settingsChanged);
+                        lastResults = null;
+                    }
+                    return null;
+                case "isClosed":
+                    return released || cached.statement.isClosed();
+                case "getConnection":
+                    return connectionHandle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            if (SETTINGS.contains(method.getName())) {
+                settingsChanged = true;
+            }
+
+            try {
+                Object result = method.invoke(cached.statement, args);
+                // DAOs often leave query results unclosed; release them with the statement
+                if (result instanceof ResultSet && "executeQuery".equals(method.getName())) {
+                    lastResults = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+import com.cognixia.jump.exception.UserNotFoundException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * CHUNKED PROGRESS DELETER
+ *
+ * Removes a user's library or a film's trackers in bounded chunks, each in its
+ * own short transaction: lock up to chunkSize rows, delete them, update the
+ * derived tables, commit, then pause briefly before the next chunk. Concurrent
+ * writers wait for at most one chunk instead of the whole library, and the
+ * connection goes back to the pool between chunks.
+ *
+ * Deleting a user or topic removes its progress rows this way first and then
+ * the owner row itself, so ON DELETE CASCADE has nothing left to do. The
+ * removal is no longer atomic: a failure part way leaves the rows of the
+ * committed chunks deleted, and running the deletion again finishes it.
+ *
+ * Every operation also has an InBackground variant that runs it on a single
+ * daemon thread, one job at a time. A DeletionListener is told how far each
+ * job has got after every chunk.
+ *
+ * The public constructors update every derived table and tell no listeners.
+ * To keep a DAO's maintainers and ProgressChangeListeners (aggregator,
+ * leaderboards, trending) informed, use UserProgressDAOImpl.getProgressDeleter().
+ */
+public class ChunkedProgressDeleter implements AutoCloseable {
+
+    static final int DEFAULT_CHUNK_SIZE = 500;
+    static final long DEFAULT_PAUSE_MILLIS = 10;
+
+    /**
+     * Progress callback, invoked after each committed chunk
+     */
+    @FunctionalInterface
+    public interface DeletionListener {
+        /**
+         * @param deleted        rows deleted so far
+         * @param estimatedTotal row count read before the first chunk (never below deleted)
+         */
+        void onChunkDeleted(int deleted, int estimatedTotal);
+    }
+
+    private final ConnectionManager connectionManager;
+    private final ProgressMaintenance maintenance;
+    private final ProgressChangeListener afterCommit;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Object backgroundLock = new Object();
+    private ExecutorService background;
+
+    public ChunkedProgressDeleter() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_PAUSE_MILLIS);
+    }
+
+    public ChunkedProgressDeleter(int chunkSize, long pauseMillis) {
+        this(ProgressMaintenance.STANDARD, null, chunkSize, pauseMillis);
+    }
+
+    /**
+     * @param afterCommit told about each committed chunk, or null
+     */
+    ChunkedProgressDeleter(ProgressMaintenance maintenance, ProgressChangeListener afterCommit,
+                           int chunkSize, long pauseMillis) {
+        if (chunkSize <= 0 || pauseMillis < 0) {
+            throw new IllegalArgumentException("Chunk size must be positive and pause not negative");
+        }
+        this.connectionManager = ConnectionManager.getInstance();
+        this.maintenance = maintenance;
+        this.afterCommit = afterCommit;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * Delete all of a user's progress rows
+     *
+     * @return number of rows deleted
+     */
+    public int deleteUserProgress(int userId, DeletionListener listener) throws Exception {
+        try {
+            return deleteRows(true, userId, listener);
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting user progress: " + e.getMessage());
+            throw new Exception("Failed to delete user progress: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete a user's progress rows, then the user
+     *
+     * @throws UserNotFoundException if there is no such user
+     */
+    public boolean deleteUser(int userId, DeletionListener listener) throws UserNotFoundException, Exception {
+        try {
+            deleteRows(true, userId, listener);
+            if (!deleteOwner(true, userId)) {
+                throw new UserNotFoundException(userId);
+            }
+            notifyOwnerDeleted(true, userId);
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting user: " + e.getMessage());
+            throw new Exception("Failed to delete user: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete a topic's tracker rows, then the topic
+     *
+     * @return false if there is no such topic
+     */
+    public boolean deleteTopic(int topicId, DeletionListener listener) throws Exception {
+        try {
+            deleteRows(false, topicId, listener);
+            if (!deleteOwner(false, topicId)) {
+                return false;
+            }
+            notifyOwnerDeleted(false, topicId);
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting topic: " + e.getMessage());
+            throw new Exception("Failed to delete topic: " + e.getMessage(), e);
+        }
+    }
+
+    public CompletableFuture<Integer> deleteUserProgressInBackground(int userId, DeletionListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return deleteUserProgress(userId, listener);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, background());
+    }
+
+    public CompletableFuture<Boolean> deleteUserInBackground(int userId, DeletionListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return deleteUser(userId, listener);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, background());
+    }
+
+    public CompletableFuture<Boolean> deleteTopicInBackground(int topicId, DeletionListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return deleteTopic(topicId, listener);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, background());
+    }
+
+    /**
+     * Stop accepting background jobs; jobs already queued still run
+     */
+    @Override
+    public void close() {
+        synchronized (backgroundLock) {
+            if (background != null) {
+                background.shutdown();
+            }
+        }
+    }
+
+    private int deleteRows(boolean byUser, int id, DeletionListener listener) throws SQLException {
+        int estimatedTotal = countRows(byUser, id);
+        int deleted = 0;
+
+        while (true) {
+            List<ProgressChange> changes;
+
+            try (Connection conn = connectionManager.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    changes = byUser
+                            ? ProgressMaintenance.deleteUserRowsChunk(conn, id, chunkSize)
+                            : ProgressMaintenance.deleteTopicRowsChunk(conn, id, chunkSize);
+                    maintenance.apply(conn, changes);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+
+            if (changes.isEmpty()) {
+                break;
+            }
+            notifyCommitted(changes);
+
+            deleted += changes.size();
+            if (listener != null) {
+                listener.onChunkDeleted(deleted, Math.max(estimatedTotal, deleted));
+            }
+
+            if (changes.size() < chunkSize) {
+                break;
+            }
+            pause();
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Delete the user or topic row. Rows inserted after the last chunk are
+     * few, so they are locked and removed in this last transaction.
+     */
+    private boolean deleteOwner(boolean user, int id) throws SQLException {
+        String sql = user ? "DELETE FROM user WHERE user_id = ?" : "DELETE FROM topic WHERE topic_id = ?";
+
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+
+            List<ProgressChange> changes;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                changes = user
+                        ? ProgressMaintenance.lockUserRowsForDelete(conn, id)
+                        : ProgressMaintenance.lockTopicRowsForDelete(conn, id);
+
+                pstmt.setInt(1, id);
+                if (pstmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+
+                maintenance.apply(conn, changes);
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+            if (!changes.isEmpty()) {
+                notifyCommitted(changes);
+            }
+            return true;
+        }
+    }
+
+    private int countRows(boolean byUser, int id) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM user_progress WHERE " + (byUser ? "user_id" : "topic_id") + " = ?";
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void notifyCommitted(List<ProgressChange> changes) {
+        if (afterCommit == null) {
+            return;
+        }
+        try {
+            afterCommit.onCommit(changes);
+        } catch (RuntimeException e) {
+            System.err.println("Error notifying progress listener: " + e.getMessage());
+        }
+    }
+
+    private void notifyOwnerDeleted(boolean user, int id) {
+        if (afterCommit == null) {
+            return;
+        }
+        try {
+            if (user) {
+                afterCommit.onUserDeleted(id);
+            } else {
+                afterCommit.onTopicDeleted(id);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error notifying progress listener: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Give other writers a turn between chunks. An interrupt only skips the
+     * pauses; the deletion itself still runs to the end.
+     */
+    private void pause() {
+        if (pauseMillis == 0 || Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService background() {
+        synchronized (backgroundLock) {
+            if (background == null) {
+                background = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "progress-deleter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return background;
+        }
+    }
+}
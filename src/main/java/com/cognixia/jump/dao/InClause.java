@@ -0,0 +1,78 @@
+package com.cognixia.jump.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * IN CLAUSE HELPER
+ *
+ * Builds bounded "IN (?, ?, ...)" lists for multi-get queries.
+ *
+ * Ids are de-duplicated and split into chunks of at most MAX_CHUNK_SIZE.
+ * Each chunk is padded up to the next power of two by repeating its last id,
+ * so a query only ever has a handful of distinct shapes and those stay in the
+ * prepared statement cache.
+ */
+final class InClause {
+
+    static final int MAX_CHUNK_SIZE = 512;
+
+    private InClause() {
+    }
+
+    /**
+     * Split ids into distinct, non-null chunks of at most MAX_CHUNK_SIZE
+     */
+    static List<List<Integer>> chunks(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Number of placeholders used for a chunk of the given size
+     */
+    static int paddedSize(int chunkSize) {
+        int size = 1;
+        while (size < chunkSize) {
+            size <<= 1;
+        }
+        return Math.min(size, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * "?, ?, ?" with the given number of placeholders
+     */
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Bind a chunk starting at parameterIndex, repeating the last id to fill the padding.
+     *
+     * @return the next free parameter index
+     */
+    static int bind(PreparedStatement pstmt, int parameterIndex, List<Integer> chunk) throws SQLException {
+        int padded = paddedSize(chunk.size());
+        for (int i = 0; i < padded; i++) {
+            pstmt.setInt(parameterIndex++, chunk.get(Math.min(i, chunk.size() - 1)));
+        }
+        return parameterIndex;
+    }
+}
@@ -0,0 +1,17 @@
+package com.cognixia.jump.dao;
+
+/**
+ * One user's place on a UserLeaderboard board. Users with equal scores share
+ * a rank (1, 2, 2, 4). score is films completed or minutes watched.
+ */
+public class LeaderboardEntry {
+    public final int rank;
+    public final int userId;
+    public final double score;
+    
+    public LeaderboardEntry(int rank, int userId, double score) {
+        this.rank = rank;
+        this.userId = userId;
+        this.score = score;
+    }
+}
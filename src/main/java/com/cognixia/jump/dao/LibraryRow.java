@@ -0,0 +1,29 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+/**
+ * One line of a user's library as the list screens show it, from
+ * UserProgressDAO.listLibraryRows. Read-only; carries no User or Topic
+ * objects, notes or description. releaseYear and rating may be null.
+ */
+public class LibraryRow {
+    public final int progressId;
+    public final int topicId;
+    public final String title;
+    public final Integer releaseYear;
+    public final UserProgress.Status status;
+    public final int currentProgress;
+    public final Double rating;
+    
+    public LibraryRow(int progressId, int topicId, String title, Integer releaseYear,
+                      UserProgress.Status status, int currentProgress, Double rating) {
+        this.progressId = progressId;
+        this.topicId = topicId;
+        this.title = title;
+        this.releaseYear = releaseYear;
+        this.status = status;
+        this.currentProgress = currentProgress;
+        this.rating = rating;
+    }
+}
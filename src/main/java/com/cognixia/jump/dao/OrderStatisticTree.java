@@ -0,0 +1,169 @@
+package com.cognixia.jump.dao;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * ORDER STATISTIC TREE
+ *
+ * Treap of (score, userId) entries ordered by score descending, then userId
+ * ascending, with subtree sizes so the position of an entry and the number of
+ * entries ahead of a score are found in one descent. Random priorities keep
+ * the expected depth at O(log n) whatever order entries arrive in.
+ *
+ * Not thread-safe; UserLeaderboard guards each tree with its own lock.
+ */
+final class OrderStatisticTree {
+
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(long score, int userId);
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long score, int userId) {
+        Node[] parts = split(root, score, userId);
+        root = merge(merge(parts[0], new Node(score, userId, random.nextInt())), parts[1]);
+    }
+
+    /**
+     * @return false if the entry was not in the tree
+     */
+    boolean remove(long score, int userId) {
+        int before = size(root);
+        root = remove(root, score, userId);
+        return size(root) < before;
+    }
+
+    /**
+     * Number of entries with a score strictly greater than the given one
+     */
+    int countAbove(long score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visit the first limit entries in order, best score first
+     */
+    void forEachTop(int limit, EntryVisitor visitor) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int visited = 0;
+        while (visited < limit && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            visitor.visit(node.score, node.userId);
+            visited++;
+            node = node.right;
+        }
+    }
+
+    /**
+     * Split into the entries ordered before (score, userId) and the rest
+     */
+    private static Node[] split(Node node, long score, int userId) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(score, userId, node) > 0) {
+            Node[] parts = split(node.right, score, userId);
+            node.right = parts[0];
+            node.update();
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, score, userId);
+        node.left = parts[1];
+        node.update();
+        return new Node[] { parts[0], node };
+    }
+
+    private static Node remove(Node node, long score, int userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, userId, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, score, userId);
+        } else {
+            node.right = remove(node.right, score, userId);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Join two treaps where every entry of left is ordered before every entry of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    /**
+     * Order of (score, userId) relative to a node: higher scores first, then lower user IDs
+     */
+    private static int compare(long score, int userId, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return Integer.compare(userId, node.userId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final long score;
+        private final int userId;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long score, int userId, int priority) {
+            this.score = score;
+            this.userId = userId;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + OrderStatisticTree.size(left) + OrderStatisticTree.size(right);
+        }
+    }
+}
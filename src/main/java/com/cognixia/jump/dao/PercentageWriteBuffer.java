@@ -0,0 +1,119 @@
+package com.cognixia.jump.dao;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PERCENTAGE WRITE BUFFER
+ *
+ * Write-behind buffer for updateProgressPercentage. Only the latest percentage
+ * per progress ID is kept, so a player reporting its position every few seconds
+ * costs one row update per flush instead of one per report.
+ *
+ * Flushes run on a background thread every flushInterval, or as soon as the
+ * number of pending rows reaches flushThreshold. An entry leaves the buffer only
+ * once its value has been written and no newer value arrived meanwhile; entries
+ * of a failed flush stay pending and are retried.
+ */
+final class PercentageWriteBuffer {
+
+    @FunctionalInterface
+    interface Writer {
+        void write(Map<Integer, Integer> percentages) throws SQLException;
+    }
+
+    private final Writer writer;
+    private final int flushThreshold;
+    private final long flushIntervalMillis;
+    private final Map<Integer, Integer> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    PercentageWriteBuffer(Writer writer, int flushThreshold, long flushIntervalMillis) {
+        if (flushThreshold <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Flush threshold and interval must be positive");
+        }
+        this.writer = writer;
+        this.flushThreshold = flushThreshold;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the latest percentage for a row, replacing any pending one
+     */
+    void put(int progressId, int percentage) {
+        pending.put(progressId, percentage);
+
+        if (pending.size() >= flushThreshold && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Pending percentage for a row, or null if it has none
+     */
+    Integer get(int progressId) {
+        return pending.get(progressId);
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Write everything pending now
+     *
+     * @throws SQLException if the write failed; the entries stay pending
+     */
+    void flush() throws SQLException {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<Integer, Integer> batch = new HashMap<>(pending);
+
+            writer.write(batch);
+
+            // Keep entries that were overwritten while the batch was being written
+            batch.forEach(pending::remove);
+        }
+    }
+
+    /**
+     * Stop the background flusher and write what is left
+     */
+    void close() throws SQLException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Error flushing buffered progress updates: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cognixia.jump.dao;
+
+/**
+ * Result of UserProgressDAO.createProgressBatch.
+ * outcomes and generatedIds are indexed like the input list.
+ */
+public class ProgressBatchResult {
+
+    public enum Outcome {
+        INSERTED,   // Row was inserted; generatedIds holds its progress_id
+        DUPLICATE,  // User already tracks the topic (or the pair repeats earlier in the input)
+        INVALID     // Rejected: missing fields, out-of-range values, or unknown user/topic
+    }
+
+    public Outcome[] outcomes;
+    public int[] generatedIds;   // 0 for rows that were not inserted
+
+    public ProgressBatchResult() {}
+
+    public ProgressBatchResult(int size) {
+        this.outcomes = new Outcome[size];
+        this.generatedIds = new int[size];
+    }
+
+    public int count(Outcome outcome) {
+        int count = 0;
+        for (Outcome o : outcomes) {
+            if (o == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+/**
+ * One user_progress row before and after a write.
+ * oldStatus is null for a new row and newStatus is null for a deleted row.
+ * Produced by UserProgressDAOImpl so derived tables can be updated by delta.
+ */
+public class ProgressChange {
+    public final int progressId;
+    public final int userId;
+    public final int topicId;
+    public final UserProgress.Status oldStatus;
+    public final UserProgress.Status newStatus;
+    public final int oldPercentage;
+    public final int newPercentage;
+    public final Double oldRating;
+    public final Double newRating;
+
+    public ProgressChange(int progressId, int userId, int topicId,
+                          UserProgress.Status oldStatus, UserProgress.Status newStatus,
+                          int oldPercentage, int newPercentage,
+                          Double oldRating, Double newRating) {
+        this.progressId = progressId;
+        this.userId = userId;
+        this.topicId = topicId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.oldPercentage = oldPercentage;
+        this.newPercentage = newPercentage;
+        this.oldRating = oldRating;
+        this.newRating = newRating;
+    }
+
+    public static ProgressChange created(int progressId, UserProgress progress) {
+        return new ProgressChange(progressId, progress.getUserId(), progress.getTopicId(),
+                null, progress.getStatus(), 0, progress.getCurrentProgress(), null, progress.getRating());
+    }
+
+    public static ProgressChange deleted(UserProgress progress) {
+        return new ProgressChange(progress.getProgressId(), progress.getUserId(), progress.getTopicId(),
+                progress.getStatus(), null, progress.getCurrentProgress(), 0, progress.getRating(), null);
+    }
+
+    public static ProgressChange updated(UserProgress before, UserProgress after) {
+        return new ProgressChange(before.getProgressId(), before.getUserId(), before.getTopicId(),
+                before.getStatus(), after.getStatus(), before.getCurrentProgress(), after.getCurrentProgress(),
+                before.getRating(), after.getRating());
+    }
+
+    public boolean isInsert() {
+        return oldStatus == null;
+    }
+
+    public boolean isDelete() {
+        return newStatus == null;
+    }
+
+    public boolean statusChanged() {
+        return oldStatus != newStatus;
+    }
+
+    /**
+     * Ratings are compared at their stored precision of one decimal
+     */
+    public boolean ratingChanged() {
+        if (oldRating == null || newRating == null) {
+            return oldRating != newRating;
+        }
+        return Math.round(oldRating * 10) != Math.round(newRating * 10);
+    }
+
+    /**
+     * True if status, percentage or rating differ; notes and dates are not tracked
+     */
+    public boolean isEffective() {
+        return statusChanged() || oldPercentage != newPercentage || ratingChanged();
+    }
+}
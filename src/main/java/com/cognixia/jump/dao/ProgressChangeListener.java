@@ -0,0 +1,28 @@
+package com.cognixia.jump.dao;
+
+import java.util.List;
+
+/**
+ * Receives the changes of each committed progress write.
+ *
+ * Called on the writing thread right after commit, so implementations must be
+ * thread-safe and quick. Exceptions are logged and do not affect the write.
+ */
+public interface ProgressChangeListener {
+
+    void onCommit(List<ProgressChange> changes);
+
+    /**
+     * A user and all of their progress rows are gone. The rows were reported
+     * through onCommit first.
+     */
+    default void onUserDeleted(int userId) {
+    }
+
+    /**
+     * A film and all of its progress rows are gone. The rows were reported
+     * through onCommit first.
+     */
+    default void onTopicDeleted(int topicId) {
+    }
+}
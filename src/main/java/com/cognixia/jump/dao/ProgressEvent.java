@@ -0,0 +1,30 @@
+package com.cognixia.jump.dao;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the progress_event outbox, as returned by ProgressEventReader.
+ * eventId increases with every event and is the position consumers commit.
+ * ProgressHistoryReader returns progress_history rows in the same shape, with
+ * the history_id as eventId.
+ */
+public class ProgressEvent {
+    public final long eventId;
+    public final ProgressChange change;
+    public final LocalDateTime createdAt;
+
+    public ProgressEvent(long eventId, ProgressChange change, LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.change = change;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Rating change carried by the event: new minus old, with a missing rating as 0
+     */
+    public double getRatingDelta() {
+        double oldRating = change.oldRating != null ? change.oldRating : 0.0;
+        double newRating = change.newRating != null ? change.newRating : 0.0;
+        return newRating - oldRating;
+    }
+}
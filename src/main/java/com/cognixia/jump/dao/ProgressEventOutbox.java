@@ -0,0 +1,55 @@
+package com.cognixia.jump.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PROGRESS EVENT OUTBOX
+ *
+ * Appends one progress_event row per change in the writer's transaction, so
+ * the event exists exactly when the change is committed. Consumers read the
+ * table with ProgressEventReader. Changes that leave status, percentage and
+ * rating untouched (notes or date edits) produce no event.
+ */
+final class ProgressEventOutbox implements ProgressMaintainer {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO progress_event (progress_id, user_id, topic_id, old_status, new_status, " +
+            "old_progress, new_progress, old_rating, new_rating) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_EVENT)) {
+            int rows = 0;
+
+            for (ProgressChange change : changes) {
+                if (!change.isEffective()) {
+                    continue;
+                }
+                pstmt.setInt(1, change.progressId);
+                pstmt.setInt(2, change.userId);
+                pstmt.setInt(3, change.topicId);
+                pstmt.setString(4, change.oldStatus != null ? change.oldStatus.name() : null);
+                pstmt.setString(5, change.newStatus != null ? change.newStatus.name() : null);
+                pstmt.setInt(6, change.oldPercentage);
+                pstmt.setInt(7, change.newPercentage);
+                pstmt.setObject(8, change.oldRating);
+                pstmt.setObject(9, change.newRating);
+                pstmt.addBatch();
+                rows++;
+            }
+
+            if (rows > 0) {
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(Connection conn) {
+        // Events are history, not derived state - nothing to recompute
+    }
+}
@@ -0,0 +1,293 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+import com.cognixia.jump.model.UserProgress;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * PROGRESS EVENT READER
+ *
+ * Polls the progress_event outbox for one named consumer. The consumer's
+ * position (the last event it has handled) is stored in progress_event_offset,
+ * so it survives restarts and each consumer advances independently.
+ *
+ * event_id is AUTO_INCREMENT, so a transaction that commits late can leave a
+ * hole below events that are already visible. The transaction that can fill
+ * such a hole was already open when the hole was first seen, so poll() notes
+ * the open transactions (information_schema.innodb_trx) at that moment and
+ * stops in front of the hole until every one of them has ended and
+ * gapGraceMillis have passed since the event after it was written. Only then
+ * is the hole a rolled-back insert; it is skipped with a message on stderr.
+ *
+ * Reading innodb_trx needs the PROCESS privilege. Without it a hole is skipped
+ * once the grace period has passed, which loses the events of a transaction
+ * that stays open longer (a large createProgressBatch import, say). The
+ * reader reports this on stderr when it first happens, and logs every skip.
+ *
+ * Delivery is at least once: events handed out after the last commitOffset()
+ * are handed out again after a restart. A reader is not thread-safe; use one
+ * per consumer thread.
+ */
+public class ProgressEventReader {
+
+    private static final long DEFAULT_GAP_GRACE_MILLIS = 5000;
+
+    private final ConnectionManager connectionManager;
+    private final String consumerName;
+    private final long gapGraceMillis;
+
+    // Position of the last event handed out by poll()
+    private long position = -1;
+
+    // First event_id of the hole poll() is waiting at, and the transactions that
+    // were open when it was first seen (null if innodb_trx could not be read)
+    private long holeStart = -1;
+    private Set<Long> holeWriters;
+    private boolean openTransactionsUnreadable = false;
+
+    public ProgressEventReader(String consumerName) {
+        this(consumerName, DEFAULT_GAP_GRACE_MILLIS);
+    }
+
+    public ProgressEventReader(String consumerName, long gapGraceMillis) {
+        if (consumerName == null || consumerName.isEmpty()) {
+            throw new IllegalArgumentException("Consumer name is required");
+        }
+        this.connectionManager = ConnectionManager.getInstance();
+        this.consumerName = consumerName;
+        this.gapGraceMillis = gapGraceMillis;
+    }
+
+    /**
+     * Next events after this consumer's position, oldest first
+     *
+     * The first call starts from the committed offset; later calls continue
+     * after the last event returned, whether or not it was committed yet.
+     */
+    public List<ProgressEvent> poll(int maxEvents) throws Exception {
+        String sql = "SELECT event_id, progress_id, user_id, topic_id, old_status, new_status, " +
+                     "old_progress, new_progress, old_rating, new_rating, created_at, " +
+                     "TIMESTAMPDIFF(MICROSECOND, created_at, NOW(3)) DIV 1000 AS age_millis " +
+                     "FROM progress_event WHERE event_id > ? ORDER BY event_id LIMIT ?";
+
+        List<ProgressEvent> events = new ArrayList<>();
+
+        try (Connection conn = connectionManager.getConnection()) {
+            if (position < 0) {
+                position = readOffset(conn);
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, position);
+                pstmt.setInt(2, maxEvents);
+                ResultSet rs = pstmt.executeQuery();
+
+                long expected = position + 1;
+                while (rs.next()) {
+                    long eventId = rs.getLong("event_id");
+                    if (eventId != expected) {
+                        // An earlier event may still be committing - wait for it
+                        if (holeMayStillFill(conn, expected, rs.getLong("age_millis"))) {
+                            break;
+                        }
+                        System.err.println("Skipping progress events " + expected + ".." + (eventId - 1) +
+                                " for consumer " + consumerName + " as rolled back");
+                    }
+                    events.add(extractEvent(rs));
+                    expected = eventId + 1;
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error polling progress events: " + e.getMessage());
+            throw new Exception("Failed to poll progress events: " + e.getMessage(), e);
+        }
+
+        if (!events.isEmpty()) {
+            position = events.get(events.size() - 1).eventId;
+        }
+        return events;
+    }
+
+    /**
+     * Durably record that every event up to eventId has been handled
+     */
+    public void commitOffset(long eventId) throws Exception {
+        String sql = "INSERT INTO progress_event_offset (consumer_name, last_event_id) VALUES (?, ?) " +
+                     "ON DUPLICATE KEY UPDATE last_event_id = GREATEST(last_event_id, VALUES(last_event_id))";
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, consumerName);
+            pstmt.setLong(2, eventId);
+            pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error committing progress event offset: " + e.getMessage());
+            throw new Exception("Failed to commit progress event offset: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Poll once, pass the events to the handler and commit their offset.
+     * If the handler throws, nothing is committed and the events are read again.
+     *
+     * @return number of events handled
+     */
+    public int processNext(int maxEvents, Consumer<List<ProgressEvent>> handler) throws Exception {
+        long start = position;
+        List<ProgressEvent> events = poll(maxEvents);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            handler.accept(events);
+        } catch (RuntimeException e) {
+            position = start;
+            throw e;
+        }
+
+        commitOffset(events.get(events.size() - 1).eventId);
+        return events.size();
+    }
+
+    /**
+     * Forget the in-memory position so the next poll restarts from the committed offset
+     */
+    public void rewind() {
+        position = -1;
+        holeStart = -1;
+    }
+
+    /**
+     * Delete events every registered consumer has committed, in chunks of batchSize
+     *
+     * @return number of events deleted
+     */
+    public static int purgeConsumedEvents(int batchSize) throws Exception {
+        String sql = "DELETE FROM progress_event " +
+                     "WHERE event_id <= (SELECT MIN(last_event_id) FROM progress_event_offset) " +
+                     "ORDER BY event_id LIMIT ?";
+
+        int deleted = 0;
+        try (Connection conn = ConnectionManager.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, batchSize);
+            int rows;
+            do {
+                rows = pstmt.executeUpdate();
+                deleted += rows;
+            } while (rows == batchSize);
+
+        } catch (SQLException e) {
+            System.err.println("Error purging progress events: " + e.getMessage());
+            throw new Exception("Failed to purge progress events: " + e.getMessage(), e);
+        }
+        return deleted;
+    }
+
+    /**
+     * True while a hole starting at firstMissing may still be filled: it was
+     * first seen just now, the event after it is younger than the grace period,
+     * or a transaction that was open when it was first seen is still open
+     */
+    private boolean holeMayStillFill(Connection conn, long firstMissing, long ageMillisAfterHole) {
+        if (holeStart != firstMissing) {
+            holeStart = firstMissing;
+            holeWriters = openTransactions(conn);
+            return true;
+        }
+        if (ageMillisAfterHole < gapGraceMillis) {
+            return true;
+        }
+        if (holeWriters != null && !holeWriters.isEmpty()) {
+            Set<Long> stillOpen = openTransactions(conn);
+            if (stillOpen == null) {
+                holeWriters = null;
+            } else {
+                holeWriters.retainAll(stillOpen);
+                if (!holeWriters.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        holeStart = -1;
+        return false;
+    }
+
+    /**
+     * IDs of the open transactions that could write, or null if innodb_trx
+     * cannot be read
+     */
+    private Set<Long> openTransactions(Connection conn) {
+        if (openTransactionsUnreadable) {
+            return null;
+        }
+
+        String sql = "SELECT trx_id FROM information_schema.innodb_trx WHERE trx_autocommit_non_locking = 0";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            Set<Long> open = new HashSet<>();
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                open.add(rs.getLong(1));
+            }
+            return open;
+
+        } catch (SQLException e) {
+            openTransactionsUnreadable = true;
+            System.err.println("Cannot read open transactions (" + e.getMessage() + "); holes in " +
+                               "progress_event will be skipped after the grace period");
+            return null;
+        }
+    }
+
+    private long readOffset(Connection conn) throws SQLException {
+        String sql = "SELECT last_event_id FROM progress_event_offset WHERE consumer_name = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, consumerName);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Event from a row with the progress_event columns; shared with ProgressHistoryReader
+     */
+    static ProgressEvent extractEvent(ResultSet rs) throws SQLException {
+        String oldStatus = rs.getString("old_status");
+        String newStatus = rs.getString("new_status");
+
+        ProgressChange change = new ProgressChange(
+                rs.getInt("progress_id"),
+                rs.getInt("user_id"),
+                rs.getInt("topic_id"),
+                oldStatus != null ? UserProgress.Status.valueOf(oldStatus) : null,
+                newStatus != null ? UserProgress.Status.valueOf(newStatus) : null,
+                rs.getInt("old_progress"),
+                rs.getInt("new_progress"),
+                nullableRating(rs, "old_rating"),
+                nullableRating(rs, "new_rating"));
+
+        return new ProgressEvent(rs.getLong("event_id"), change,
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private static Double nullableRating(ResultSet rs, String column) throws SQLException {
+        double rating = rs.getDouble(column);
+        return rs.wasNull() ? null : rating;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cognixia.jump.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PROGRESS HISTORY MAINTAINER
+ *
+ * Appends one progress_history row per effective change in the writer's
+ * transaction. Unlike progress_event, rows are never consumed or purged by
+ * readers; old months are dropped whole with
+ * ProgressHistoryReader.dropPartitionsBefore.
+ */
+final class ProgressHistoryMaintainer implements ProgressMaintainer {
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO progress_history (progress_id, user_id, topic_id, old_status, new_status, " +
+            "old_progress, new_progress, old_rating, new_rating) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_HISTORY)) {
+            int rows = 0;
+
+            for (ProgressChange change : changes) {
+                if (!change.isEffective()) {
+                    continue;
+                }
+                pstmt.setInt(1, change.progressId);
+                pstmt.setInt(2, change.userId);
+                pstmt.setInt(3, change.topicId);
+                pstmt.setString(4, change.oldStatus != null ? change.oldStatus.name() : null);
+                pstmt.setString(5, change.newStatus != null ? change.newStatus.name() : null);
+                pstmt.setInt(6, change.oldPercentage);
+                pstmt.setInt(7, change.newPercentage);
+                pstmt.setObject(8, change.oldRating);
+                pstmt.setObject(9, change.newRating);
+                pstmt.addBatch();
+                rows++;
+            }
+
+            if (rows > 0) {
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(Connection conn) {
+        // History records what happened; it cannot be recomputed from current state
+    }
+}
@@ -0,0 +1,231 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PROGRESS HISTORY READER
+ *
+ * Time-window queries over progress_history, plus upkeep of its monthly
+ * partitions. Every query bounds changed_at with a half-open range, so MySQL
+ * prunes to the partitions of the months covered and an index on
+ * (user_id, changed_at) or (topic_id, changed_at) does the rest.
+ *
+ * Times are in UTC: ConnectionManager forces the session time zone to UTC,
+ * so changed_at, the day buckets and the partition months all use it.
+ * A "completion" is a change into COMPLETED from any other state, including
+ * a new entry created as completed.
+ */
+public class ProgressHistoryReader {
+
+    // Partition holding month YYYY-MM is named pYYYY_MM; p_max catches everything later
+    private static final Pattern MONTH_PARTITION = Pattern.compile("p(\\d{4})_(\\d{2})");
+
+    private static final String HISTORY_COLUMNS =
+            "SELECT history_id AS event_id, progress_id, user_id, topic_id, old_status, new_status, " +
+            "old_progress, new_progress, old_rating, new_rating, changed_at AS created_at " +
+            "FROM progress_history ";
+
+    private static final String IS_COMPLETION =
+            "new_status = 'COMPLETED' AND (old_status IS NULL OR old_status <> 'COMPLETED') ";
+
+    private final ConnectionManager connectionManager;
+
+    public ProgressHistoryReader() {
+        this.connectionManager = ConnectionManager.getInstance();
+    }
+
+    /**
+     * Changes to a user's entries with from <= changed_at < to, oldest first
+     */
+    public List<ProgressEvent> getUserHistory(int userId, LocalDateTime from, LocalDateTime to) throws Exception {
+        String sql = HISTORY_COLUMNS +
+                     "WHERE user_id = ? AND changed_at >= ? AND changed_at < ? " +
+                     "ORDER BY changed_at, history_id";
+
+        List<ProgressEvent> history = new ArrayList<>();
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, userId);
+            pstmt.setObject(2, from);
+            pstmt.setObject(3, to);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                history.add(ProgressEventReader.extractEvent(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading progress history: " + e.getMessage());
+            throw new Exception("Failed to read progress history: " + e.getMessage(), e);
+        }
+
+        return history;
+    }
+
+    /**
+     * Films a user completed per day, for the days from..to inclusive.
+     * Days without completions are absent.
+     */
+    public SortedMap<LocalDate, Integer> getCompletionsPerDayForUser(int userId, LocalDate from, LocalDate to)
+            throws Exception {
+        return completionsPerDay("user_id", userId, from, to);
+    }
+
+    /**
+     * Users who completed a film per day, for the days from..to inclusive.
+     * Days without completions are absent.
+     */
+    public SortedMap<LocalDate, Integer> getCompletionsPerDayForTopic(int topicId, LocalDate from, LocalDate to)
+            throws Exception {
+        return completionsPerDay("topic_id", topicId, from, to);
+    }
+
+    /**
+     * Split month partitions out of p_max up to monthsAhead months after the
+     * current one (UTC). Run ahead of time, e.g. monthly, so new rows never
+     * land in p_max.
+     *
+     * @return number of partitions added
+     */
+    public static int addMonthlyPartitions(int monthsAhead) throws Exception {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("monthsAhead cannot be negative");
+        }
+
+        try (Connection conn = ConnectionManager.getInstance().getConnection()) {
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            YearMonth next = current;
+            for (YearMonth month : monthPartitions(conn)) {
+                if (!month.isBefore(next)) {
+                    next = month.plusMonths(1);
+                }
+            }
+
+            YearMonth last = current.plusMonths(monthsAhead);
+            if (next.isAfter(last)) {
+                return 0;
+            }
+
+            StringBuilder sql = new StringBuilder("ALTER TABLE progress_history REORGANIZE PARTITION p_max INTO (");
+            int added = 0;
+            for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+                sql.append("PARTITION ").append(partitionName(month))
+                   .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+                added++;
+            }
+            sql.append("PARTITION p_max VALUES LESS THAN (MAXVALUE))");
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(sql.toString());
+            }
+            return added;
+
+        } catch (SQLException e) {
+            System.err.println("Error adding history partitions: " + e.getMessage());
+            throw new Exception("Failed to add history partitions: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop the history of every month before the given one. Dropping a
+     * partition is a metadata change, unlike a DELETE over the same rows.
+     *
+     * @return number of partitions dropped
+     */
+    public static int dropPartitionsBefore(YearMonth month) throws Exception {
+        try (Connection conn = ConnectionManager.getInstance().getConnection()) {
+            List<String> names = new ArrayList<>();
+            for (YearMonth partition : monthPartitions(conn)) {
+                if (partition.isBefore(month)) {
+                    names.add(partitionName(partition));
+                }
+            }
+            if (names.isEmpty()) {
+                return 0;
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("ALTER TABLE progress_history DROP PARTITION " + String.join(", ", names));
+            }
+            return names.size();
+
+        } catch (SQLException e) {
+            System.err.println("Error dropping history partitions: " + e.getMessage());
+            throw new Exception("Failed to drop history partitions: " + e.getMessage(), e);
+        }
+    }
+
+    private SortedMap<LocalDate, Integer> completionsPerDay(String column, int id, LocalDate from, LocalDate to)
+            throws Exception {
+        String sql = "SELECT DATE(changed_at) AS day, COUNT(*) AS completions FROM progress_history " +
+                     "WHERE " + column + " = ? AND changed_at >= ? AND changed_at < ? AND " + IS_COMPLETION +
+                     "GROUP BY day ORDER BY day";
+
+        SortedMap<LocalDate, Integer> perDay = new TreeMap<>();
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            pstmt.setObject(2, from.atStartOfDay());
+            pstmt.setObject(3, to.plusDays(1).atStartOfDay());
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                perDay.put(rs.getDate("day").toLocalDate(), rs.getInt("completions"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error counting completions: " + e.getMessage());
+            throw new Exception("Failed to count completions: " + e.getMessage(), e);
+        }
+
+        return perDay;
+    }
+
+    /**
+     * Months that have their own partition, oldest first
+     */
+    private static List<YearMonth> monthPartitions(Connection conn) throws SQLException {
+        String sql = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                     "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'progress_history' " +
+                     "ORDER BY PARTITION_ORDINAL_POSITION";
+
+        List<YearMonth> months = new ArrayList<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                String name = rs.getString(1);
+                Matcher matcher = name != null ? MONTH_PARTITION.matcher(name) : null;
+                if (matcher != null && matcher.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                }
+            }
+        }
+
+        return months;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
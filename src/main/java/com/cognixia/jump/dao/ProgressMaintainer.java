@@ -0,0 +1,24 @@
+package com.cognixia.jump.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A table derived from user_progress and kept current by applying deltas.
+ *
+ * apply() runs on the writer's connection inside its transaction, so the derived
+ * rows commit or roll back together with the user_progress change.
+ */
+interface ProgressMaintainer {
+
+    /**
+     * Apply the effect of the given changes
+     */
+    void apply(Connection conn, List<ProgressChange> changes) throws SQLException;
+
+    /**
+     * Recompute the whole table from user_progress
+     */
+    void rebuild(Connection conn) throws SQLException;
+}
@@ -0,0 +1,247 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PROGRESS MAINTENANCE
+ *
+ * Shared plumbing for writes that keep derived tables in step with user_progress:
+ * lock the affected rows, capture their old values, and hand the resulting
+ * ProgressChanges to a set of ProgressMaintainers.
+ *
+ * Callers own the transaction; every method here expects autocommit to be off.
+ */
+final class ProgressMaintenance {
+
+    // Every derived table, the event outbox and the history log, all written inside the writing transaction.
+    // WatchTimeMaintainer rebuilds from the history log, so it comes after it
+    static final ProgressMaintenance STANDARD = new ProgressMaintenance(List.of(
+            new UserSummaryMaintainer(),
+            new TopicStatsMaintainer(),
+            new ProgressEventOutbox(),
+            new ProgressHistoryMaintainer(),
+            new WatchTimeMaintainer()
+    ));
+
+    // Only the columns derived tables depend on, plus the optimistic lock version
+    private static final String LOCK_COLUMNS =
+            "SELECT progress_id, user_id, topic_id, status, current_progress, rating, version FROM user_progress ";
+
+    private final List<ProgressMaintainer> maintainers;
+
+    private ProgressMaintenance(List<ProgressMaintainer> maintainers) {
+        this.maintainers = maintainers;
+    }
+
+    /**
+     * Copy of this set without maintainers of the given type, for tables
+     * that are kept up to date some other way
+     */
+    ProgressMaintenance without(Class<? extends ProgressMaintainer> type) {
+        List<ProgressMaintainer> remaining = new ArrayList<>(maintainers);
+        remaining.removeIf(type::isInstance);
+        return new ProgressMaintenance(List.copyOf(remaining));
+    }
+
+    /**
+     * Lock one row and return its current values, or null if it does not exist
+     */
+    static UserProgress lockProgress(Connection conn, int progressId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(LOCK_COLUMNS + "WHERE progress_id = ? FOR UPDATE")) {
+            pstmt.setInt(1, progressId);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? readLocked(rs) : null;
+        }
+    }
+
+    /**
+     * Lock several rows by ID; missing IDs are absent from the result
+     */
+    static Map<Integer, UserProgress> lockProgress(Connection conn, Collection<Integer> progressIds) throws SQLException {
+        Map<Integer, UserProgress> locked = new HashMap<>();
+
+        for (List<Integer> chunk : InClause.chunks(progressIds)) {
+            String sql = LOCK_COLUMNS + "WHERE progress_id IN (" +
+                         InClause.placeholders(InClause.paddedSize(chunk.size())) + ") FOR UPDATE";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                InClause.bind(pstmt, 1, chunk);
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    UserProgress progress = readLocked(rs);
+                    locked.put(progress.getProgressId(), progress);
+                }
+            }
+        }
+
+        return locked;
+    }
+
+    /**
+     * Lock the row for a (user, topic) pair, or the gap where it would go
+     */
+    static UserProgress lockProgress(Connection conn, int userId, int topicId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                LOCK_COLUMNS + "WHERE user_id = ? AND topic_id = ? FOR UPDATE")) {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, topicId);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? readLocked(rs) : null;
+        }
+    }
+
+    /**
+     * Lock a user's rows for a set of topics, keyed by progress ID; topics the
+     * user does not track are absent from the result
+     */
+    static Map<Integer, UserProgress> lockProgress(Connection conn, int userId, Collection<Integer> topicIds)
+            throws SQLException {
+        Map<Integer, UserProgress> locked = new HashMap<>();
+
+        for (List<Integer> chunk : InClause.chunks(topicIds)) {
+            String sql = LOCK_COLUMNS + "WHERE user_id = ? AND topic_id IN (" +
+                         InClause.placeholders(InClause.paddedSize(chunk.size())) + ") FOR UPDATE";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                InClause.bind(pstmt, 2, chunk);
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    UserProgress progress = readLocked(rs);
+                    locked.put(progress.getProgressId(), progress);
+                }
+            }
+        }
+
+        return locked;
+    }
+
+    /**
+     * Lock every row of a user and describe their removal
+     */
+    static List<ProgressChange> lockUserRowsForDelete(Connection conn, int userId) throws SQLException {
+        return lockRowsForDelete(conn, LOCK_COLUMNS + "WHERE user_id = ? FOR UPDATE", userId);
+    }
+
+    /**
+     * Lock every tracker row of a topic and describe their removal
+     */
+    static List<ProgressChange> lockTopicRowsForDelete(Connection conn, int topicId) throws SQLException {
+        return lockRowsForDelete(conn, LOCK_COLUMNS + "WHERE topic_id = ? FOR UPDATE", topicId);
+    }
+
+    /**
+     * Lock and delete up to limit of a user's rows and describe their removal.
+     * Rows are taken in (user_id, topic_id) index order, so only the rows
+     * returned are locked.
+     */
+    static List<ProgressChange> deleteUserRowsChunk(Connection conn, int userId, int limit) throws SQLException {
+        return deleteChunk(conn, LOCK_COLUMNS + "WHERE user_id = ? ORDER BY topic_id LIMIT ? FOR UPDATE", userId, limit);
+    }
+
+    /**
+     * Lock and delete up to limit of a topic's tracker rows and describe their removal.
+     * Rows are taken in topic_id index order (ties by primary key).
+     */
+    static List<ProgressChange> deleteTopicRowsChunk(Connection conn, int topicId, int limit) throws SQLException {
+        return deleteChunk(conn, LOCK_COLUMNS + "WHERE topic_id = ? ORDER BY progress_id LIMIT ? FOR UPDATE", topicId, limit);
+    }
+
+    /**
+     * Apply changes to the derived tables
+     */
+    void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (ProgressMaintainer maintainer : maintainers) {
+            maintainer.apply(conn, changes);
+        }
+    }
+
+    /**
+     * Recompute the derived tables from user_progress
+     */
+    void rebuildAll(Connection conn) throws SQLException {
+        for (ProgressMaintainer maintainer : maintainers) {
+            maintainer.rebuild(conn);
+        }
+    }
+
+    private static List<ProgressChange> deleteChunk(Connection conn, String lockSql, int id, int limit)
+            throws SQLException {
+        List<ProgressChange> changes = new ArrayList<>();
+        List<Integer> progressIds = new ArrayList<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(lockSql)) {
+            pstmt.setInt(1, id);
+            pstmt.setInt(2, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                UserProgress progress = readLocked(rs);
+                changes.add(ProgressChange.deleted(progress));
+                progressIds.add(progress.getProgressId());
+            }
+        }
+
+        for (List<Integer> chunk : InClause.chunks(progressIds)) {
+            String sql = "DELETE FROM user_progress WHERE progress_id IN (" +
+                         InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                InClause.bind(pstmt, 1, chunk);
+                pstmt.executeUpdate();
+            }
+        }
+
+        return changes;
+    }
+
+    private static List<ProgressChange> lockRowsForDelete(Connection conn, String sql, int id) throws SQLException {
+        List<ProgressChange> changes = new ArrayList<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, id);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                changes.add(ProgressChange.deleted(readLocked(rs)));
+            }
+        }
+
+        return changes;
+    }
+
+    private static UserProgress readLocked(ResultSet rs) throws SQLException {
+        UserProgress progress = new UserProgress();
+        progress.setProgressId(rs.getInt("progress_id"));
+        progress.setUserId(rs.getInt("user_id"));
+        progress.setTopicId(rs.getInt("topic_id"));
+        // The maintainers apply deltas against this image, so it must be the
+        // stored status, not one the setters derive from the percentage
+        progress.setLoadedState(UserProgress.Status.valueOf(rs.getString("status")),
+                                rs.getInt("current_progress"));
+
+        double rating = rs.getDouble("rating");
+        if (!rs.wasNull()) {
+            progress.setRating(rating);
+        }
+
+        progress.setVersion(rs.getInt("version"));
+        progress.clearDirtyFields();
+        return progress;
+    }
+}
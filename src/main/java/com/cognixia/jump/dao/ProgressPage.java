@@ -0,0 +1,24 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+import java.util.List;
+
+/**
+ * One page of UserProgressDAO.getUserProgressPage.
+ * Pass nextToken back to get the following page; it is null on the last page.
+ */
+public class ProgressPage {
+    public List<UserProgress> items;
+    public String nextToken;
+    
+    public ProgressPage() {}
+    
+    public ProgressPage(List<UserProgress> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+    
+    public boolean hasMore() {
+        return nextToken != null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.cognixia.jump.dao;
+
+/**
+ * Histogram of a film's user ratings in half-star buckets from 1.0 to 5.0.
+ * counts[0] holds ratings nearest 1.0, counts[8] those nearest 5.0.
+ * Percentiles use the nearest-rank method and return a bucket's rating,
+ * or 0.0 when there are no ratings (same convention as averageRating).
+ */
+public class RatingDistribution {
+    public static final int BUCKETS = 9;
+
+    public int[] counts;
+    public int totalRatings;
+
+    public RatingDistribution() {
+        this.counts = new int[BUCKETS];
+    }
+
+    public RatingDistribution(int[] counts) {
+        this.counts = counts;
+        for (int count : counts) {
+            this.totalRatings += count;
+        }
+    }
+
+    /**
+     * Rating represented by a bucket: 1.0, 1.5, ... 5.0
+     */
+    public static double bucketRating(int bucket) {
+        return 1.0 + bucket * 0.5;
+    }
+
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    public double getP90() {
+        return getPercentile(90);
+    }
+
+    /**
+     * Smallest bucket rating with at least percentile% of ratings at or below it
+     */
+    public double getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        if (totalRatings == 0) {
+            return 0.0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * totalRatings);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return bucketRating(bucket);
+            }
+        }
+        return bucketRating(counts.length - 1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * RESULT SET STREAM
+ *
+ * Turns a query into a lazily-read Stream backed by a server-side cursor
+ * (useCursorFetch=true on the JDBC URL plus a fetch size), so only FETCH_SIZE
+ * rows are held in memory at a time.
+ *
+ * The stream owns its connection until it is closed - always use it in
+ * try-with-resources. SQL errors while reading rows surface as RuntimeException.
+ */
+final class ResultSetStream {
+
+    // Rows pulled from the server per cursor fetch
+    static final int FETCH_SIZE = 500;
+
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Run the query and return a stream over its rows
+     */
+    static <T> Stream<T> open(ConnectionManager connectionManager, String sql,
+                              ParameterBinder binder, RowMapper<T> mapper) throws SQLException {
+        Connection conn = connectionManager.getConnection();
+        PreparedStatement pstmt = null;
+
+        try {
+            // Explicit result set type keeps this statement out of the statement cache,
+            // since the fetch size below would otherwise stick to a shared statement
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(FETCH_SIZE);
+            binder.bind(pstmt);
+            ResultSet rs = pstmt.executeQuery();
+
+            PreparedStatement statement = pstmt;
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Error reading streamed rows: " + e.getMessage(), e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(rs, statement, conn));
+
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(null, pstmt, conn);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement pstmt, Connection conn) {
+        try {
+            if (rs != null) {
+                rs.close();
+            }
+            if (pstmt != null) {
+                pstmt.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error closing streamed query: " + e.getMessage());
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("Error releasing streamed connection: " + e.getMessage());
+            }
+        }
+    }
+}
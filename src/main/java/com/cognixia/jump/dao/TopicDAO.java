@@ -1,8 +1,13 @@
 package com.cognixia.jump.dao;
 
 import com.cognixia.jump.model.Topic;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * TOPIC DAO INTERFACE
@@ -24,6 +29,13 @@ public interface TopicDAO {
      */
     Optional<Topic> findById(int topicId);
 
+    /**
+     * READ - Find many topics by ID in a constant number of round trips
+     * 
+     * Returns a map keyed by topic ID. IDs with no matching topic are left out.
+     */
+    Map<Integer, Topic> findByIds(Collection<Integer> topicIds);
+
     /**
      * READ - Find topics by title (partial match)
      */
@@ -34,6 +46,19 @@ public interface TopicDAO {
      */
     List<Topic> getAllTopics();
 
+    /**
+     * READ - Stream all topics through a server-side cursor
+     * 
+     * Rows are read lazily with constant memory. The stream holds a connection
+     * until it is closed, so use it in try-with-resources.
+     */
+    Stream<Topic> streamAllTopics();
+
+    /**
+     * READ - Hand every topic to the consumer without building a list
+     */
+    void forEachTopic(Consumer<? super Topic> action);
+
     /**
      * READ - Get topics by category
      */
@@ -58,6 +83,14 @@ public interface TopicDAO {
      */
     boolean deleteTopic(int topicId);
 
+    /**
+     * DELETE - Remove topic by ID on a background thread
+     * 
+     * Completes with true if the topic was deleted, false if not found;
+     * the listener (may be null) is told after each chunk of trackers removed.
+     */
+    CompletableFuture<Boolean> deleteTopicInBackground(int topicId, ChunkedProgressDeleter.DeletionListener listener);
+
     /**
      * UTILITY - Get topic count
      */
@@ -7,8 +7,14 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * TOPIC DAO IMPLEMENTATION
@@ -19,9 +25,19 @@ import java.util.Optional;
 public class TopicDAOImpl implements TopicDAO {
 
     private final ConnectionManager connectionManager;
+    private final ChunkedProgressDeleter progressDeleter;
 
     public TopicDAOImpl() {
+        this(new ChunkedProgressDeleter());
+    }
+
+    /**
+     * Delete films' trackers through the given deleter, normally
+     * UserProgressDAOImpl.getProgressDeleter(), so its listeners hear about it
+     */
+    public TopicDAOImpl(ChunkedProgressDeleter progressDeleter) {
         this.connectionManager = ConnectionManager.getInstance();
+        this.progressDeleter = progressDeleter;
     }
 
     /**
@@ -93,6 +109,44 @@ public class TopicDAOImpl implements TopicDAO {
         return Optional.empty();
     }
 
+    /**
+     * FIND BY IDS
+     * 
+     * Loads the ids in bounded IN-list chunks, all on one connection.
+     */
+    @Override
+    public Map<Integer, Topic> findByIds(Collection<Integer> topicIds) {
+        Map<Integer, Topic> topics = new HashMap<>();
+        List<List<Integer>> chunks = InClause.chunks(topicIds);
+
+        if (chunks.isEmpty()) {
+            return topics;
+        }
+
+        try (Connection conn = connectionManager.getConnection()) {
+
+            for (List<Integer> chunk : chunks) {
+                String sql = "SELECT * FROM topic WHERE topic_id IN ("
+                        + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    InClause.bind(pstmt, 1, chunk);
+                    ResultSet rs = pstmt.executeQuery();
+
+                    while (rs.next()) {
+                        Topic topic = extractTopicFromResultSet(rs);
+                        topics.put(topic.getTopicId(), topic);
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error finding topics by IDs: " + e.getMessage());
+        }
+
+        return topics;
+    }
+
     /**
      * FIND BY TITLE
      * 
@@ -143,6 +197,34 @@ public class TopicDAOImpl implements TopicDAO {
         return topics;
     }
 
+    /**
+     * STREAM ALL TOPICS
+     * 
+     * Returns an empty stream if the query cannot be started.
+     */
+    @Override
+    public Stream<Topic> streamAllTopics() {
+        String sql = "SELECT * FROM topic ORDER BY topic_id";
+
+        try {
+            return ResultSetStream.open(connectionManager, sql, pstmt -> { }, this::extractTopicFromResultSet);
+
+        } catch (SQLException e) {
+            System.err.println("Error streaming topics: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * FOR EACH TOPIC
+     */
+    @Override
+    public void forEachTopic(Consumer<? super Topic> action) {
+        try (Stream<Topic> topics = streamAllTopics()) {
+            topics.forEach(action);
+        }
+    }
+
     /**
      * GET TOPICS BY CATEGORY
      */
@@ -239,31 +321,34 @@ public class TopicDAOImpl implements TopicDAO {
      * 
      * If the topic exists, deletes it and returns true.
      * If not found, logs and returns false.
+     * 
+     * Trackers are removed first in short chunked transactions (see
+     * ChunkedProgressDeleter), so a popular film does not lock every one of
+     * its rows at once; the topic row goes last.
      */
     @Override
     public boolean deleteTopic(int topicId) {
-        String sql = "DELETE FROM topic WHERE topic_id = ?";
-
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, topicId);
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows == 0) {
+        try {
+            if (!progressDeleter.deleteTopic(topicId, null)) {
                 System.err.println("No topic found with ID: " + topicId);
                 return false;
             }
-
             return true;
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting topic: " + e.getMessage());
+        } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * DELETE TOPIC IN BACKGROUND
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteTopicInBackground(int topicId,
+                                                             ChunkedProgressDeleter.DeletionListener listener) {
+        return progressDeleter.deleteTopicInBackground(topicId, listener);
+    }
+
     /**
      * GET TOPIC COUNT
      * 
@@ -292,6 +377,16 @@ public class TopicDAOImpl implements TopicDAO {
      * HELPER METHOD - Extract Topic from ResultSet
      */
     private Topic extractTopicFromResultSet(ResultSet rs) throws SQLException {
+        return extractTopicFromResultSet(rs, "created_date");
+    }
+
+    /**
+     * HELPER METHOD - Extract Topic from a joined ResultSet
+     * 
+     * Shared with UserProgressDAOImpl, whose joined queries alias created_date
+     * because both topic and user have that column.
+     */
+    static Topic extractTopicFromResultSet(ResultSet rs, String createdDateColumn) throws SQLException {
         Topic topic = new Topic();
 
         topic.setTopicId(rs.getInt("topic_id"));
@@ -318,7 +413,7 @@ public class TopicDAOImpl implements TopicDAO {
         BigDecimal rating = rs.getBigDecimal("letterboxd_rating");
         topic.setLetterboxdRating(rating != null ? rating.doubleValue() : null);
 
-        Timestamp createdTimestamp = rs.getTimestamp("created_date");
+        Timestamp createdTimestamp = rs.getTimestamp(createdDateColumn);
         if (createdTimestamp != null) {
             topic.setCreatedDate(createdTimestamp.toLocalDateTime());
         }
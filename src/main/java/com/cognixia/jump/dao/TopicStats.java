@@ -6,6 +6,8 @@ public class TopicStats {
     public int inProgressCount;
     public int completedCount;
     public double averageRating;
+    public int ratingCount;      // Trackers who rated the film; averageRating is over these
+    public RatingDistribution ratingDistribution = new RatingDistribution();
     
     public TopicStats() {}
     
@@ -16,4 +18,9 @@ public class TopicStats {
         this.completedCount = complete;
         this.averageRating = avgRating;
     }
+    
+    public TopicStats(int total, int plan, int progress, int complete, double avgRating, int ratings) {
+        this(total, plan, progress, complete, avgRating);
+        this.ratingCount = ratings;
+    }
 }
@@ -0,0 +1,291 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TOPIC STATS AGGREGATOR
+ *
+ * In-process alternative to updating topic_stats inside every write transaction.
+ * Committed ProgressChanges are added to per-topic LongAdders, so concurrent
+ * writers to a popular film never contend on one row or one lock. A background
+ * thread periodically merges the accumulated deltas into topic_stats as additive
+ * upserts; with several application nodes each one merges only its own deltas,
+ * so the table converges to the sum over all nodes.
+ *
+ * Reads combine the last topic_stats values seen by this node with its own
+ * unflushed deltas. Counters of other nodes become visible after the next flush
+ * reloads the rows. Deltas not yet flushed are lost if the process dies; run
+ * --rebuild-stats to repair topic_stats after a crash.
+ *
+ * Counters of a deleted film are dropped, on onTopicDeleted or when a flush
+ * finds the film gone, so its deltas can never block the merge of the others.
+ *
+ * Used through new UserProgressDAOImpl(aggregator). Call start() once and
+ * close() on shutdown.
+ */
+public class TopicStatsAggregator implements ProgressChangeListener, AutoCloseable {
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 5000;
+
+    private final ConnectionManager connectionManager;
+    private final long flushIntervalMillis;
+    private final Map<Integer, TopicCounters> counters = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    public TopicStatsAggregator() {
+        this(DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public TopicStatsAggregator(long flushIntervalMillis) {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.connectionManager = ConnectionManager.getInstance();
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "topic-stats-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the periodic flush
+     */
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the periodic flush and merge whatever is still pending
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    @Override
+    public void onCommit(List<ProgressChange> changes) {
+        for (ProgressChange change : changes) {
+            if (!TopicStatsMaintainer.affectsTopicStats(change)) {
+                continue;
+            }
+            long[] delta = new long[TopicStatsMaintainer.FIELDS];
+            TopicStatsMaintainer.addDelta(change, delta);
+
+            LongAdder[] adders = counters.computeIfAbsent(change.topicId, id -> new TopicCounters()).adders;
+            for (int i = 0; i < delta.length; i++) {
+                if (delta[i] != 0) {
+                    adders[i].add(delta[i]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onTopicDeleted(int topicId) {
+        synchronized (flushLock) {
+            counters.remove(topicId);
+        }
+    }
+
+    /**
+     * Current statistics for a topic: stored values plus this node's pending deltas
+     */
+    public TopicStats getTopicStatistics(int topicId) {
+        TopicCounters topic = counters.computeIfAbsent(topicId, id -> new TopicCounters());
+
+        if (topic.snapshot.base == null) {
+            synchronized (flushLock) {
+                if (topic.snapshot.base == null) {
+                    try (Connection conn = connectionManager.getConnection()) {
+                        long[] base = TopicStatsMaintainer.readRows(conn, List.of(topicId)).get(topicId);
+                        topic.snapshot = new Snapshot(base != null ? base : new long[TopicStatsMaintainer.FIELDS],
+                                topic.snapshot.flushed);
+                    } catch (SQLException e) {
+                        System.err.println("Error loading topic statistics: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Snapshot snapshot = topic.snapshot;
+        long[] values = new long[TopicStatsMaintainer.FIELDS];
+        for (int i = 0; i < values.length; i++) {
+            long base = snapshot.base != null ? snapshot.base[i] : 0;
+            values[i] = base + topic.adders[i].sum() - snapshot.flushed[i];
+        }
+        return TopicStatsMaintainer.toTopicStats(values);
+    }
+
+    /**
+     * Merge pending deltas into topic_stats and refresh the stored values of loaded topics
+     *
+     * @throws SQLException if the merge failed; the deltas stay pending for the next flush
+     */
+    public void flush() throws SQLException {
+        synchronized (flushLock) {
+            Map<Integer, long[]> pending = new HashMap<>();
+            Map<Integer, long[]> flushedAfter = new HashMap<>();
+
+            for (Map.Entry<Integer, TopicCounters> entry : counters.entrySet()) {
+                TopicCounters topic = entry.getValue();
+                long[] flushed = topic.snapshot.flushed;
+                long[] sums = new long[flushed.length];
+                long[] delta = new long[flushed.length];
+                boolean changed = false;
+
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] = topic.adders[i].sum();
+                    delta[i] = sums[i] - flushed[i];
+                    changed |= delta[i] != 0;
+                }
+                if (changed) {
+                    pending.put(entry.getKey(), delta);
+                    flushedAfter.put(entry.getKey(), sums);
+                }
+            }
+
+            List<Integer> loaded = new ArrayList<>();
+            counters.forEach((topicId, topic) -> {
+                if (topic.snapshot.base != null) {
+                    loaded.add(topicId);
+                }
+            });
+
+            if (pending.isEmpty() && loaded.isEmpty()) {
+                return;
+            }
+
+            try (Connection conn = connectionManager.getConnection()) {
+                // A film deleted since its deltas were counted would fail the topic_stats
+                // foreign key on every flush; forget it instead
+                if (!pending.isEmpty()) {
+                    Set<Integer> existing = existingTopics(conn, pending.keySet());
+                    for (Integer topicId : new ArrayList<>(pending.keySet())) {
+                        if (!existing.contains(topicId)) {
+                            pending.remove(topicId);
+                            counters.remove(topicId);
+                            loaded.remove(topicId);
+                        }
+                    }
+                }
+
+                conn.setAutoCommit(false);
+                try {
+                    TopicStatsMaintainer.writeDeltas(conn, pending);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+
+                // The merged deltas now live in the stored values. Move them there in
+                // the same swap that advances the flushed marks, so readers never count
+                // a delta twice or not at all
+                pending.forEach((topicId, delta) -> {
+                    TopicCounters topic = counters.get(topicId);
+                    long[] base = topic.snapshot.base;
+                    if (base != null) {
+                        base = base.clone();
+                        for (int i = 0; i < base.length; i++) {
+                            base[i] += delta[i];
+                        }
+                    }
+                    topic.snapshot = new Snapshot(base, flushedAfter.get(topicId));
+                });
+
+                // Pick up what other nodes merged since the last flush
+                conn.setAutoCommit(true);
+                Map<Integer, long[]> stored = TopicStatsMaintainer.readRows(conn, loaded);
+                for (int topicId : loaded) {
+                    TopicCounters topic = counters.get(topicId);
+                    topic.snapshot = new Snapshot(
+                            stored.getOrDefault(topicId, new long[TopicStatsMaintainer.FIELDS]),
+                            topic.snapshot.flushed);
+                }
+            }
+        }
+    }
+
+    private static Set<Integer> existingTopics(Connection conn, Collection<Integer> topicIds) throws SQLException {
+        Set<Integer> existing = new HashSet<>();
+
+        for (List<Integer> chunk : InClause.chunks(topicIds)) {
+            String sql = "SELECT topic_id FROM topic " +
+                         "WHERE topic_id IN (" + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                InClause.bind(pstmt, 1, chunk);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    existing.add(rs.getInt(1));
+                }
+            }
+        }
+
+        return existing;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Error flushing topic statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Monotonic per-topic adders plus the snapshot they are read against.
+     * Adders are never reset; flushed records how much of each has been merged.
+     */
+    private static final class TopicCounters {
+        private final LongAdder[] adders = new LongAdder[TopicStatsMaintainer.FIELDS];
+        private volatile Snapshot snapshot = new Snapshot(null, new long[TopicStatsMaintainer.FIELDS]);
+
+        private TopicCounters() {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Immutable pair swapped atomically by flush(): stored topic_stats values
+     * (null until the topic is first read) and the adder sums merged into them
+     */
+    private static final class Snapshot {
+        private final long[] base;
+        private final long[] flushed;
+
+        private Snapshot(long[] base, long[] flushed) {
+            this.base = base;
+            this.flushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TOPIC STATS MAINTAINER
+ *
+ * Keeps topic_stats (tracker counts by status, rating sum and count, and a
+ * rating histogram per topic) in step with user_progress, so getTopicStatistics
+ * is one row read.
+ *
+ * Ratings have one decimal place, so the sum is carried in tenths and written
+ * as an exact DECIMAL; the average is derived at read time. The histogram has
+ * one counter per half star from 1.0 to 5.0, each rating counted in the bucket
+ * nearest to it.
+ *
+ * The delta helpers are shared with TopicStatsAggregator, which accumulates
+ * the same deltas in memory and merges them with writeDeltas().
+ */
+final class TopicStatsMaintainer implements ProgressMaintainer {
+
+    // Delta slots: total, one counter per status, rating sum (tenths), rating count,
+    // then one slot per histogram bucket
+    static final int TOTAL = 0;
+    static final int RATING_TENTHS = 4;
+    static final int RATING_COUNT = 5;
+    static final int FIRST_BUCKET = 6;
+    static final int FIELDS = FIRST_BUCKET + RatingDistribution.BUCKETS;
+
+    // topic_stats column for each slot
+    private static final String[] COLUMNS = new String[FIELDS];
+
+    static {
+        COLUMNS[TOTAL] = "total_count";
+        COLUMNS[slot(UserProgress.Status.PLAN_TO_START)] = "plan_to_start_count";
+        COLUMNS[slot(UserProgress.Status.IN_PROGRESS)] = "in_progress_count";
+        COLUMNS[slot(UserProgress.Status.COMPLETED)] = "completed_count";
+        COLUMNS[RATING_TENTHS] = "rating_sum";
+        COLUMNS[RATING_COUNT] = "rating_count";
+        for (int bucket = 0; bucket < RatingDistribution.BUCKETS; bucket++) {
+            COLUMNS[FIRST_BUCKET + bucket] = bucketColumn(bucket);
+        }
+    }
+
+    private static final String COLUMN_LIST = String.join(", ", COLUMNS);
+
+    private static final String UPSERT_DELTA = buildUpsertDelta();
+
+    @Override
+    public void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        Map<Integer, long[]> deltas = new TreeMap<>();
+
+        for (ProgressChange change : changes) {
+            if (affectsTopicStats(change)) {
+                addDelta(change, deltas.computeIfAbsent(change.topicId, id -> new long[FIELDS]));
+            }
+        }
+
+        writeDeltas(conn, deltas);
+    }
+
+    @Override
+    public void rebuild(Connection conn) throws SQLException {
+        StringBuilder buckets = new StringBuilder();
+        for (int bucket = 0; bucket < RatingDistribution.BUCKETS; bucket++) {
+            // ROUND(rating * 2) is the half-star step nearest to the rating, as in bucket()
+            buckets.append(", COALESCE(SUM(ROUND(rating * 2) = ").append(bucket + 2).append("), 0)");
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM topic_stats");
+            stmt.executeUpdate(
+                    "INSERT INTO topic_stats (topic_id, " + COLUMN_LIST + ") " +
+                    "SELECT topic_id, COUNT(*), " +
+                    "SUM(status = 'PLAN_TO_START'), SUM(status = 'IN_PROGRESS'), SUM(status = 'COMPLETED'), " +
+                    "COALESCE(SUM(rating), 0), COUNT(rating)" + buckets + " " +
+                    "FROM user_progress GROUP BY topic_id");
+        }
+    }
+
+    /**
+     * True if the change moves any topic_stats counter
+     */
+    static boolean affectsTopicStats(ProgressChange change) {
+        return change.statusChanged() || change.ratingChanged();
+    }
+
+    /**
+     * Add the change's effect to a FIELDS-long delta
+     */
+    static void addDelta(ProgressChange change, long[] delta) {
+        if (change.statusChanged()) {
+            if (change.oldStatus != null) {
+                delta[slot(change.oldStatus)]--;
+            } else {
+                delta[TOTAL]++;
+            }
+            if (change.newStatus != null) {
+                delta[slot(change.newStatus)]++;
+            } else {
+                delta[TOTAL]--;
+            }
+        }
+
+        if (change.ratingChanged()) {
+            if (change.oldRating != null) {
+                delta[RATING_TENTHS] -= tenths(change.oldRating);
+                delta[RATING_COUNT]--;
+                delta[FIRST_BUCKET + bucket(change.oldRating)]--;
+            }
+            if (change.newRating != null) {
+                delta[RATING_TENTHS] += tenths(change.newRating);
+                delta[RATING_COUNT]++;
+                delta[FIRST_BUCKET + bucket(change.newRating)]++;
+            }
+        }
+    }
+
+    /**
+     * Add per-topic deltas to topic_stats, in topic id order
+     */
+    static void writeDeltas(Connection conn, Map<Integer, long[]> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_DELTA)) {
+            for (Map.Entry<Integer, long[]> entry : new TreeMap<>(deltas).entrySet()) {
+                long[] delta = entry.getValue();
+                pstmt.setInt(1, entry.getKey());
+                for (int i = 0; i < FIELDS; i++) {
+                    if (i == RATING_TENTHS) {
+                        pstmt.setBigDecimal(i + 2, BigDecimal.valueOf(delta[i], 1));
+                    } else {
+                        pstmt.setLong(i + 2, delta[i]);
+                    }
+                }
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Read topic_stats rows as FIELDS-long arrays; topics without a row are absent
+     */
+    static Map<Integer, long[]> readRows(Connection conn, Collection<Integer> topicIds) throws SQLException {
+        Map<Integer, long[]> rows = new HashMap<>();
+
+        for (List<Integer> chunk : InClause.chunks(topicIds)) {
+            String sql = "SELECT topic_id, " + COLUMN_LIST + " FROM topic_stats " +
+                         "WHERE topic_id IN (" + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                InClause.bind(pstmt, 1, chunk);
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    long[] values = new long[FIELDS];
+                    for (int i = 0; i < FIELDS; i++) {
+                        values[i] = i == RATING_TENTHS
+                                ? rs.getBigDecimal(COLUMNS[i]).movePointRight(1).longValue()
+                                : rs.getLong(COLUMNS[i]);
+                    }
+                    rows.put(rs.getInt("topic_id"), values);
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * TopicStats from FIELDS-long counter values
+     */
+    static TopicStats toTopicStats(long[] values) {
+        long ratingCount = values[RATING_COUNT];
+        double averageRating = ratingCount == 0 ? 0.0 : values[RATING_TENTHS] / 10.0 / ratingCount;
+
+        int[] buckets = new int[RatingDistribution.BUCKETS];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = (int) values[FIRST_BUCKET + bucket];
+        }
+
+        TopicStats stats = new TopicStats(
+                (int) values[TOTAL],
+                (int) values[slot(UserProgress.Status.PLAN_TO_START)],
+                (int) values[slot(UserProgress.Status.IN_PROGRESS)],
+                (int) values[slot(UserProgress.Status.COMPLETED)],
+                averageRating,
+                (int) ratingCount);
+        stats.ratingDistribution = new RatingDistribution(buckets);
+        return stats;
+    }
+
+    static int slot(UserProgress.Status status) {
+        return status.ordinal() + 1;
+    }
+
+    static long tenths(double rating) {
+        return Math.round(rating * 10);
+    }
+
+    /**
+     * Histogram bucket for a rating: the nearest half star, 0 for 1.0 up to 8 for 5.0
+     */
+    static int bucket(double rating) {
+        int halfSteps = (int) Math.round(tenths(rating) / 5.0);
+        return Math.max(0, Math.min(RatingDistribution.BUCKETS - 1, halfSteps - 2));
+    }
+
+    /**
+     * "rating_1_0_count" for bucket 0 up to "rating_5_0_count" for bucket 8
+     */
+    private static String bucketColumn(int bucket) {
+        int halfSteps = bucket + 2;
+        return "rating_" + (halfSteps / 2) + "_" + (halfSteps % 2 == 0 ? "0" : "5") + "_count";
+    }
+
+    private static String buildUpsertDelta() {
+        StringBuilder sql = new StringBuilder("INSERT INTO topic_stats (topic_id, ")
+                .append(COLUMN_LIST)
+                .append(") VALUES (?")
+                .append(", ?".repeat(FIELDS))
+                .append(") ON DUPLICATE KEY UPDATE ");
+        for (int i = 0; i < FIELDS; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(COLUMNS[i]).append(" = ").append(COLUMNS[i]).append(" + VALUES(").append(COLUMNS[i]).append(')');
+        }
+        return sql.toString();
+    }
+}
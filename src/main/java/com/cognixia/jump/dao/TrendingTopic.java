@@ -0,0 +1,15 @@
+package com.cognixia.jump.dao;
+
+/**
+ * A film's place in a TrendingTopics window: how many users started or
+ * completed it during that window.
+ */
+public class TrendingTopic {
+    public final int topicId;
+    public final int transitions;
+    
+    public TrendingTopic(int topicId, int transitions) {
+        this.topicId = topicId;
+        this.transitions = transitions;
+    }
+}
@@ -0,0 +1,203 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TRENDING TOPICS
+ *
+ * Films ranked by how many status transitions into IN_PROGRESS or COMPLETED
+ * they received in the last hour, 24 hours or 7 days, counted in memory from
+ * the ProgressChanges of every committed write (updateProgress, flushed
+ * updateProgressPercentage batches, bulk transitions and so on).
+ *
+ * Each film has two fixed ring buffers: 60 one-minute buckets for the hour
+ * window and 168 one-hour buckets for the day and week windows, plus a running
+ * total per window. Buckets are retired lazily as time moves on, subtracting
+ * them from the totals, so reading a film's count is O(1) and memory per film
+ * is constant however many events arrive. Films with nothing in the last week
+ * are dropped on the next read, so memory is bounded by the films active in
+ * that week. The day and week windows move by the hour and include the
+ * current, partial hour; the hour window moves by the minute.
+ *
+ * Counts are per process and start empty; register with
+ * UserProgressDAO.addChangeListener.
+ */
+public class TrendingTopics implements ProgressChangeListener {
+
+    public enum Window {
+        LAST_HOUR("1h"),
+        LAST_DAY("24h"),
+        LAST_WEEK("7d");
+
+        private final String label;
+
+        Window(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final int MINUTE_BUCKETS = 60;
+    private static final int HOUR_BUCKETS = 7 * 24;
+    private static final int DAY_HOURS = 24;
+
+    private static final Comparator<TrendingTopic> BY_TRANSITIONS =
+            Comparator.<TrendingTopic>comparingInt(topic -> topic.transitions)
+                      .thenComparing(topic -> -topic.topicId);
+
+    private final Map<Integer, TopicCounter> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCommit(List<ProgressChange> changes) {
+        long minute = currentMinute();
+        for (ProgressChange change : changes) {
+            if (isTrendingTransition(change)) {
+                counters.compute(change.topicId, (topicId, counter) -> {
+                    TopicCounter target = counter != null ? counter : new TopicCounter(minute);
+                    target.record(minute);
+                    return target;
+                });
+            }
+        }
+    }
+
+    @Override
+    public void onTopicDeleted(int topicId) {
+        counters.remove(topicId);
+    }
+
+    /**
+     * The films with the most transitions in a window, most first. Films
+     * without any are left out.
+     */
+    public List<TrendingTopic> getTrending(Window window, int limit) {
+        long minute = currentMinute();
+
+        // Min-heap of the best limit films seen so far
+        PriorityQueue<TrendingTopic> best = new PriorityQueue<>(BY_TRANSITIONS);
+        for (Map.Entry<Integer, TopicCounter> entry : counters.entrySet()) {
+            int transitions = entry.getValue().total(window, minute);
+            if (transitions == 0) {
+                counters.computeIfPresent(entry.getKey(),
+                        (topicId, counter) -> counter.isIdle(minute) ? null : counter);
+                continue;
+            }
+            best.add(new TrendingTopic(entry.getKey(), transitions));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<TrendingTopic> trending = new ArrayList<>(best);
+        trending.sort(BY_TRANSITIONS.reversed());
+        return trending;
+    }
+
+    /**
+     * Transitions a film received in a window
+     */
+    public int getTransitionCount(int topicId, Window window) {
+        TopicCounter counter = counters.get(topicId);
+        return counter != null ? counter.total(window, currentMinute()) : 0;
+    }
+
+    /**
+     * True for a change that moves an entry into IN_PROGRESS or COMPLETED,
+     * including a new entry created in one of them
+     */
+    static boolean isTrendingTransition(ProgressChange change) {
+        return change.statusChanged()
+                && (change.newStatus == UserProgress.Status.IN_PROGRESS
+                    || change.newStatus == UserProgress.Status.COMPLETED);
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    /**
+     * Ring buffers and window totals of one film. Minutes are epoch minutes;
+     * a minute earlier than the newest one seen counts in the newest bucket.
+     */
+    private static final class TopicCounter {
+        private final int[] minuteBuckets = new int[MINUTE_BUCKETS];
+        private final int[] hourBuckets = new int[HOUR_BUCKETS];
+        private final int[] totals = new int[Window.values().length];
+        private long newestMinute;
+        private long newestHour;
+
+        private TopicCounter(long minute) {
+            this.newestMinute = minute;
+            this.newestHour = minute / 60;
+        }
+
+        synchronized void record(long minute) {
+            advance(minute);
+            minuteBuckets[(int) (newestMinute % MINUTE_BUCKETS)]++;
+            hourBuckets[(int) (newestHour % HOUR_BUCKETS)]++;
+            for (int i = 0; i < totals.length; i++) {
+                totals[i]++;
+            }
+        }
+
+        synchronized int total(Window window, long minute) {
+            advance(minute);
+            return totals[window.ordinal()];
+        }
+
+        synchronized boolean isIdle(long minute) {
+            advance(minute);
+            return totals[Window.LAST_WEEK.ordinal()] == 0;
+        }
+
+        /**
+         * Move the rings forward to the given minute, retiring the buckets that
+         * fall out of each window
+         */
+        private void advance(long minute) {
+            if (minute <= newestMinute) {
+                return;
+            }
+
+            if (minute - newestMinute >= MINUTE_BUCKETS) {
+                Arrays.fill(minuteBuckets, 0);
+                totals[Window.LAST_HOUR.ordinal()] = 0;
+            } else {
+                for (long m = newestMinute + 1; m <= minute; m++) {
+                    int slot = (int) (m % MINUTE_BUCKETS);
+                    totals[Window.LAST_HOUR.ordinal()] -= minuteBuckets[slot];
+                    minuteBuckets[slot] = 0;
+                }
+            }
+            newestMinute = minute;
+
+            long hour = minute / 60;
+            if (hour - newestHour >= HOUR_BUCKETS) {
+                Arrays.fill(hourBuckets, 0);
+                totals[Window.LAST_DAY.ordinal()] = 0;
+                totals[Window.LAST_WEEK.ordinal()] = 0;
+            } else {
+                for (long h = newestHour + 1; h <= hour; h++) {
+                    // Hour h - 24 leaves the day window; its bucket stays for the week
+                    totals[Window.LAST_DAY.ordinal()] -= hourBuckets[(int) ((h - DAY_HOURS) % HOUR_BUCKETS)];
+                    int slot = (int) (h % HOUR_BUCKETS);
+                    totals[Window.LAST_WEEK.ordinal()] -= hourBuckets[slot];
+                    hourBuckets[slot] = 0;
+                }
+            }
+            newestHour = hour;
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.cognixia.jump.dao;
 
 import com.cognixia.jump.model.User;
 import com.cognixia.jump.exception.UserNotFoundException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * USER DAO INTERFACE
@@ -32,6 +37,14 @@ public interface UserDAO {
      */
     Optional<User> findById(int userId) throws UserNotFoundException;
     
+    /**
+     * READ - Find many users by ID in a constant number of round trips
+     * 
+     * @param userIds the IDs to load (duplicates and nulls are ignored)
+     * @return map keyed by user ID; IDs with no matching user are left out
+     */
+    Map<Integer, User> findByIds(Collection<Integer> userIds);
+    
     /**
      * READ - Find user by username
      * 
@@ -48,6 +61,20 @@ public interface UserDAO {
      */
     List<User> getAllUsers();
     
+    /**
+     * READ - Stream all users through a server-side cursor
+     * 
+     * @return lazily-read stream; holds a connection until closed, so use try-with-resources
+     */
+    Stream<User> streamAllUsers();
+    
+    /**
+     * READ - Hand every user to the consumer without building a list
+     * 
+     * @param action called once per user, in username order
+     */
+    void forEachUser(Consumer<? super User> action);
+    
     /**
      * UPDATE - Modify existing user
      * 
@@ -76,6 +103,16 @@ public interface UserDAO {
      */
     boolean deleteUser(int userId) throws UserNotFoundException;
     
+    /**
+     * DELETE - Remove user by ID on a background thread
+     * 
+     * @param userId the ID of user to delete
+     * @param listener told after each chunk of progress removed, or null
+     * @return completes with true once deleted; fails with UserNotFoundException
+     *         if the user doesn't exist
+     */
+    CompletableFuture<Boolean> deleteUserInBackground(int userId, ChunkedProgressDeleter.DeletionListener listener);
+    
     /**
      * AUTHENTICATION - Verify username and password
      * 
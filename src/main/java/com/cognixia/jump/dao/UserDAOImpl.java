@@ -7,8 +7,14 @@ import com.cognixia.jump.connection.ConnectionManager;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * USER DAO IMPLEMENTATION
@@ -19,9 +25,19 @@ import java.util.Optional;
 public class UserDAOImpl implements UserDAO {
     
     private final ConnectionManager connectionManager;
+    private final ChunkedProgressDeleter progressDeleter;
     
     public UserDAOImpl() {
+        this(new ChunkedProgressDeleter());
+    }
+    
+    /**
+     * Delete users' progress through the given deleter, normally
+     * UserProgressDAOImpl.getProgressDeleter(), so its listeners hear about it
+     */
+    public UserDAOImpl(ChunkedProgressDeleter progressDeleter) {
         this.connectionManager = ConnectionManager.getInstance();
+        this.progressDeleter = progressDeleter;
     }
     
     /**
@@ -84,6 +100,44 @@ public class UserDAOImpl implements UserDAO {
         throw new UserNotFoundException(userId);
     }
     
+    /**
+     * FIND BY IDS
+     * 
+     * Loads the ids in bounded IN-list chunks, all on one connection.
+     */
+    @Override
+    public Map<Integer, User> findByIds(Collection<Integer> userIds) {
+        Map<Integer, User> users = new HashMap<>();
+        List<List<Integer>> chunks = InClause.chunks(userIds);
+        
+        if (chunks.isEmpty()) {
+            return users;
+        }
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            
+            for (List<Integer> chunk : chunks) {
+                String sql = "SELECT * FROM user WHERE user_id IN ("
+                        + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    InClause.bind(pstmt, 1, chunk);
+                    ResultSet rs = pstmt.executeQuery();
+                    
+                    while (rs.next()) {
+                        User user = extractUserFromResultSet(rs);
+                        users.put(user.getUserId(), user);
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error finding users by IDs: " + e.getMessage());
+        }
+        
+        return users;
+    }
+    
     /**
      * FIND BY USERNAME
      */
@@ -131,6 +185,34 @@ public class UserDAOImpl implements UserDAO {
         return users;
     }
     
+    /**
+     * STREAM ALL USERS
+     * 
+     * Returns an empty stream if the query cannot be started.
+     */
+    @Override
+    public Stream<User> streamAllUsers() {
+        String sql = "SELECT * FROM user ORDER BY username";
+        
+        try {
+            return ResultSetStream.open(connectionManager, sql, pstmt -> { }, this::extractUserFromResultSet);
+            
+        } catch (SQLException e) {
+            System.err.println("Error streaming users: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+    
+    /**
+     * FOR EACH USER
+     */
+    @Override
+    public void forEachUser(Consumer<? super User> action) {
+        try (Stream<User> users = streamAllUsers()) {
+            users.forEach(action);
+        }
+    }
+    
     /**
      * UPDATE USER
      */
@@ -188,30 +270,31 @@ public class UserDAOImpl implements UserDAO {
     
     /**
      * DELETE USER
+     * 
+     * The user's progress is removed first in short chunked transactions
+     * (see ChunkedProgressDeleter); the user row goes last.
      */
     @Override
     public boolean deleteUser(int userId) throws UserNotFoundException {
-        String sql = "DELETE FROM user WHERE user_id = ?";
-        
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, userId);
+        try {
+            return progressDeleter.deleteUser(userId, null);
             
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows == 0) {
-                throw new UserNotFoundException(userId);
-            }
-            
-            return true;
-            
-        } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+        } catch (UserNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
             return false;
         }
     }
     
+    /**
+     * DELETE USER IN BACKGROUND
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteUserInBackground(int userId,
+                                                           ChunkedProgressDeleter.DeletionListener listener) {
+        return progressDeleter.deleteUserInBackground(userId, listener);
+    }
+    
     /**
      * AUTHENTICATE USER
      */
@@ -288,13 +371,23 @@ public class UserDAOImpl implements UserDAO {
      * HELPER METHOD - Extract User from ResultSet
      */
     private User extractUserFromResultSet(ResultSet rs) throws SQLException {
+        return extractUserFromResultSet(rs, "created_date");
+    }
+    
+    /**
+     * HELPER METHOD - Extract User from a joined ResultSet
+     * 
+     * Shared with UserProgressDAOImpl, whose joined queries alias created_date
+     * because both topic and user have that column.
+     */
+    static User extractUserFromResultSet(ResultSet rs, String createdDateColumn) throws SQLException {
         User user = new User();
         user.setUserId(rs.getInt("user_id"));
         user.setUsername(rs.getString("username"));
         user.setPassword(rs.getString("password"));
         user.setEmail(rs.getString("email"));
         
-        Timestamp createdTimestamp = rs.getTimestamp("created_date");
+        Timestamp createdTimestamp = rs.getTimestamp(createdDateColumn);
         if (createdTimestamp != null) {
             user.setCreatedDate(createdTimestamp.toLocalDateTime());
         }
@@ -0,0 +1,244 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+import com.cognixia.jump.model.UserProgress;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * USER LEADERBOARD
+ *
+ * In-memory rankings of users by films completed and by minutes watched,
+ * each an OrderStatisticTree, so a user's rank and the top of a board cost
+ * O(log n) (plus the entries returned) instead of a GROUP BY over
+ * user_progress per request.
+ *
+ * load() reads the starting scores once from user_progress_summary and
+ * user_watch_time; after that the boards follow the ProgressChanges of the
+ * DAO they are registered with, as the derived tables do: completing a film
+ * adds one, leaving COMPLETED takes it back, and a percentage change adds
+ * (new % - old %) x runtime minutes; a deleted user leaves both boards.
+ * Changes committed by other processes, or during a load(), show up after
+ * the next load().
+ *
+ * Register with UserProgressDAO.addChangeListener after calling load().
+ */
+public class UserLeaderboard implements ProgressChangeListener {
+
+    public enum Board {
+        COMPLETED_FILMS,
+        WATCH_MINUTES
+    }
+
+    private final ConnectionManager connectionManager;
+
+    // Film runtimes for watch minutes; 0 for films without one
+    private final Map<Integer, Integer> runtimes = new ConcurrentHashMap<>();
+
+    // Films completed, and minutes watched in hundredths (percent x runtime) so sums stay exact
+    private volatile Ranking completedFilms = new Ranking();
+    private volatile Ranking watchHundredths = new Ranking();
+
+    public UserLeaderboard() {
+        this.connectionManager = ConnectionManager.getInstance();
+    }
+
+    /**
+     * Replace both boards with the scores stored in the database
+     */
+    public void load() throws Exception {
+        Ranking completed = new Ranking();
+        Ranking watched = new Ranking();
+        Map<Integer, Integer> topicRuntimes = new HashMap<>();
+
+        try (Connection conn = connectionManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            ResultSet rs = stmt.executeQuery("SELECT user_id, completed_count FROM user_progress_summary");
+            while (rs.next()) {
+                completed.add(rs.getInt("user_id"), rs.getLong("completed_count"));
+            }
+
+            rs = stmt.executeQuery("SELECT user_id, SUM(watch_minutes) AS minutes FROM user_watch_time " +
+                                   "WHERE granularity = 'MONTH' GROUP BY user_id");
+            while (rs.next()) {
+                watched.add(rs.getInt("user_id"), rs.getBigDecimal("minutes").movePointRight(2).longValue());
+            }
+
+            rs = stmt.executeQuery("SELECT topic_id, COALESCE(runtime_minutes, 0) AS runtime FROM topic");
+            while (rs.next()) {
+                topicRuntimes.put(rs.getInt("topic_id"), rs.getInt("runtime"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading leaderboards: " + e.getMessage());
+            throw new Exception("Failed to load leaderboards: " + e.getMessage(), e);
+        }
+
+        runtimes.clear();
+        runtimes.putAll(topicRuntimes);
+        completedFilms = completed;
+        watchHundredths = watched;
+    }
+
+    @Override
+    public void onCommit(List<ProgressChange> changes) {
+        for (ProgressChange change : changes) {
+            if (change.statusChanged()) {
+                int delta = (change.newStatus == UserProgress.Status.COMPLETED ? 1 : 0)
+                          - (change.oldStatus == UserProgress.Status.COMPLETED ? 1 : 0);
+                if (delta != 0) {
+                    completedFilms.add(change.userId, delta);
+                }
+            }
+
+            // Deleting an entry keeps the minutes already watched, as user_watch_time does
+            int percentage = change.newPercentage - change.oldPercentage;
+            if (!change.isDelete() && percentage != 0) {
+                int runtime = runtime(change.topicId);
+                if (runtime > 0) {
+                    watchHundredths.add(change.userId, (long) percentage * runtime);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onUserDeleted(int userId) {
+        removeUser(userId);
+    }
+
+    /**
+     * The best limit users of a board, best first
+     */
+    public List<LeaderboardEntry> getTop(Board board, int limit) {
+        List<LeaderboardEntry> top = new ArrayList<>();
+        ranking(board).forEachTop(limit, (rank, userId, score) ->
+                top.add(new LeaderboardEntry(rank, userId, toScore(board, score))));
+        return top;
+    }
+
+    /**
+     * A user's rank and score on a board; empty if the user has no score there
+     */
+    public Optional<LeaderboardEntry> getEntry(Board board, int userId) {
+        return ranking(board).entry(userId)
+                .map(entry -> new LeaderboardEntry((int) entry[0], userId, toScore(board, entry[1])));
+    }
+
+    /**
+     * Number of users on a board
+     */
+    public int getUserCount(Board board) {
+        return ranking(board).size();
+    }
+
+    /**
+     * Take a deleted user off both boards
+     */
+    public void removeUser(int userId) {
+        completedFilms.remove(userId);
+        watchHundredths.remove(userId);
+    }
+
+    private Ranking ranking(Board board) {
+        return board == Board.COMPLETED_FILMS ? completedFilms : watchHundredths;
+    }
+
+    private static double toScore(Board board, long score) {
+        return board == Board.COMPLETED_FILMS ? score : score / 100.0;
+    }
+
+    private int runtime(int topicId) {
+        Integer runtime = runtimes.get(topicId);
+        if (runtime != null) {
+            return runtime;
+        }
+
+        // A film added since load()
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT COALESCE(runtime_minutes, 0) FROM topic WHERE topic_id = ?")) {
+
+            pstmt.setInt(1, topicId);
+            ResultSet rs = pstmt.executeQuery();
+            runtime = rs.next() ? rs.getInt(1) : 0;
+            runtimes.put(topicId, runtime);
+            return runtime;
+
+        } catch (SQLException e) {
+            System.err.println("Error reading film runtime: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RankedVisitor {
+        void visit(int rank, int userId, long score);
+    }
+
+    /**
+     * One board: each user's score plus the tree ordering them. Locked as a whole,
+     * so a score and its tree entry always change together.
+     */
+    private static final class Ranking {
+        private final Map<Integer, Long> scores = new HashMap<>();
+        private final OrderStatisticTree tree = new OrderStatisticTree();
+
+        synchronized void add(int userId, long delta) {
+            Long old = scores.get(userId);
+            long score = delta;
+            if (old != null) {
+                tree.remove(old, userId);
+                score += old;
+            }
+            scores.put(userId, score);
+            tree.insert(score, userId);
+        }
+
+        synchronized void remove(int userId) {
+            Long old = scores.remove(userId);
+            if (old != null) {
+                tree.remove(old, userId);
+            }
+        }
+
+        synchronized int size() {
+            return scores.size();
+        }
+
+        /**
+         * { rank, score } for a user, if ranked
+         */
+        synchronized Optional<long[]> entry(int userId) {
+            Long score = scores.get(userId);
+            if (score == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new long[] { tree.countAbove(score) + 1, score });
+        }
+
+        synchronized void forEachTop(int limit, RankedVisitor visitor) {
+            int[] position = new int[1];
+            long[] previous = new long[2];   // rank and score of the last entry visited
+            tree.forEachTop(limit, (score, userId) -> {
+                position[0]++;
+                if (position[0] == 1 || score != previous[1]) {
+                    previous[0] = position[0];
+                    previous[1] = score;
+                }
+                visitor.visit((int) previous[0], userId, score);
+            });
+        }
+    }
+}
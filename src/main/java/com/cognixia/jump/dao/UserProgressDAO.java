@@ -2,23 +2,53 @@ package com.cognixia.jump.dao;
 
 import com.cognixia.jump.model.UserProgress;
 import com.cognixia.jump.exception.ProgressAlreadyExistsException;
+import com.cognixia.jump.exception.ProgressConflictException;
 import com.cognixia.jump.exception.UserNotFoundException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * USER PROGRESS DAO INTERFACE
  * 
  * Data Access Object for UserProgress entities.
  * Manages the relationship between users and their film tracking progress.
+ * Close it before ConnectionManager.shutdown() so buffered writes reach the database.
  */
-public interface UserProgressDAO {
+public interface UserProgressDAO extends AutoCloseable {
     
     /**
      * CREATE - Add new progress tracking entry
+     * 
+     * Single INSERT; the unique (user_id, topic_id) key rejects duplicates,
+     * which are reported as ProgressAlreadyExistsException.
      */
     UserProgress createProgress(UserProgress progress) throws ProgressAlreadyExistsException, Exception;
     
+    /**
+     * CREATE OR UPDATE - Insert the entry, or overwrite the existing one for the same user and topic
+     * 
+     * Idempotent variant of createProgress. Returns the progress with its ID set.
+     */
+    UserProgress upsertProgress(UserProgress progress) throws Exception;
+    
+    /**
+     * CREATE - Bulk import progress entries using JDBC batching in one transaction
+     * 
+     * Returns one outcome per input row (inserted, duplicate or invalid) and the
+     * generated IDs of inserted rows. Uses the default batch size.
+     */
+    ProgressBatchResult createProgressBatch(List<UserProgress> progressList) throws Exception;
+    
+    /**
+     * CREATE - Bulk import with an explicit JDBC batch size
+     */
+    ProgressBatchResult createProgressBatch(List<UserProgress> progressList, int batchSize) throws Exception;
+    
     /**
      * READ - Find progress by ID
      */
@@ -34,21 +64,102 @@ public interface UserProgressDAO {
      */
     List<UserProgress> getUserProgress(int userId) throws UserNotFoundException;
     
+    /**
+     * READ - Get one page of a user's progress, newest first
+     * 
+     * Keyset pagination over (last_updated, progress_id): pass null for the first page,
+     * then the previous page's nextToken. Every page costs the same regardless of depth.
+     */
+    ProgressPage getUserProgressPage(int userId, String continuationToken, int pageSize) throws UserNotFoundException;
+    
+    /**
+     * READ - Stream a user's progress (newest first) through a server-side cursor
+     * 
+     * Empty if the user has no entries. The stream holds a connection until it
+     * is closed, so use it in try-with-resources.
+     */
+    Stream<UserProgress> streamUserProgress(int userId);
+    
+    /**
+     * READ - Hand each of a user's progress entries to the consumer without building a list
+     */
+    void forEachUserProgress(int userId, Consumer<? super UserProgress> action);
+    
     /**
      * READ - Get progress by status for a user
      */
     List<UserProgress> getUserProgressByStatus(int userId, UserProgress.Status status) throws UserNotFoundException;
     
     /**
-     * UPDATE - Update progress entry
+     * READ - Compact library rows for list screens, newest first
+     * 
+     * Reads only title, year, status, percentage and rating; use findById
+     * for the full entry.
+     * 
+     * @param status only rows with this status, or null for all
      */
-    boolean updateProgress(UserProgress progress);
+    List<LibraryRow> listLibraryRows(int userId, UserProgress.Status status) throws UserNotFoundException;
+    
+    /**
+     * UPDATE - Update progress entry (compare-and-set on its version)
+     * 
+     * Succeeds only if the stored row still has the version the entry was read
+     * with; the entry's version is then advanced to match the row.
+     * 
+     * @return false if the entry no longer exists or the update failed
+     * @throws ProgressConflictException if the row was changed since it was read
+     */
+    boolean updateProgress(UserProgress progress) throws ProgressConflictException;
+    
+    /**
+     * UPDATE - Write only the columns changed through the entry's setters
+     * 
+     * Same compare-and-set as updateProgress. Meant for entries loaded by this
+     * DAO; an entry with no dirty fields is left alone and true is returned.
+     * 
+     * @return false if the entry no longer exists or the update failed
+     * @throws ProgressConflictException if the row was changed since it was read
+     */
+    boolean updateChangedFields(UserProgress progress) throws ProgressConflictException;
+    
+    /**
+     * UPDATE - Re-read a progress entry, apply a change and save it, retrying on conflict
+     * 
+     * The change may run several times, each time on a freshly read entry, so it
+     * should only set fields and have no other side effects.
+     * 
+     * @return the saved entry, or empty if it does not exist or the update failed
+     * @throws ProgressConflictException if every one of maxAttempts attempts conflicted
+     */
+    Optional<UserProgress> updateProgressWithRetry(int progressId, Consumer<UserProgress> change, int maxAttempts)
+            throws ProgressConflictException;
     
     /**
      * UPDATE - Update only the progress percentage
      */
     boolean updateProgressPercentage(int progressId, int percentage);
     
+    /**
+     * UPDATE - Set one percentage on a user's entries for many topics at once
+     * 
+     * Status and dates follow the same rules as updateProgressPercentage.
+     * Topics the user does not track are skipped.
+     * 
+     * @return number of entries whose status or percentage changed
+     */
+    int bulkUpdatePercentage(int userId, Collection<Integer> topicIds, int percentage) throws Exception;
+    
+    /**
+     * UPDATE - Move a user's entries for many topics to one status at once
+     * 
+     * PLAN_TO_START sets 0%, COMPLETED sets 100%, and IN_PROGRESS keeps the
+     * percentage, moved into 1-99 if needed; dates then follow the
+     * updateProgressPercentage rules. Topics the user does not track are skipped.
+     * 
+     * @return number of entries whose status or percentage changed
+     */
+    int bulkUpdateStatus(int userId, Collection<Integer> topicIds, UserProgress.Status status) throws Exception;
+    
     /**
      * UPDATE - Update rating
      */
@@ -59,6 +170,20 @@ public interface UserProgressDAO {
      */
     boolean updateNotes(int progressId, String notes);
     
+    /**
+     * READ - Notes for a set of progress entries in one round trip
+     * 
+     * List queries leave notes unloaded; this is the batch call to fetch them.
+     * 
+     * @return notes by progress ID; entries without notes are absent
+     */
+    Map<Integer, String> loadNotes(Collection<Integer> progressIds);
+    
+    /**
+     * READ - Fill in the notes of entries that were read without them
+     */
+    void attachNotes(Collection<UserProgress> progressList);
+    
     /**
      * DELETE - Remove progress entry
      */
@@ -66,9 +191,21 @@ public interface UserProgressDAO {
     
     /**
      * DELETE - Remove all progress for a user
+     * 
+     * Runs as a series of short transactions; if it fails part way, the rows
+     * already removed stay removed. Returns true if any rows were removed, even
+     * when a later chunk failed (the failure is logged; call again for the rest).
      */
     boolean deleteUserProgress(int userId) throws UserNotFoundException;
     
+    /**
+     * DELETE - Remove all progress for a user on a background thread
+     * 
+     * @param listener told after each deleted chunk, or null
+     * @return completes with the number of rows deleted
+     */
+    CompletableFuture<Integer> deleteUserProgressInBackground(int userId, ChunkedProgressDeleter.DeletionListener listener);
+    
     /**
      * UTILITY - Check if user is tracking a topic
      */
@@ -76,13 +213,41 @@ public interface UserProgressDAO {
     
     /**
      * STATISTICS - Get user progress summary
+     * 
+     * Served from the user_progress_summary counters, which every write
+     * through this DAO updates in its own transaction.
      */
     UserProgressSummary getUserProgressSummary(int userId) throws UserNotFoundException;
     
     /**
      * STATISTICS - Get topic statistics
+     * 
+     * Served from the topic_stats row (status counts, rating sum and count,
+     * half-star rating histogram), maintained by every write through this DAO.
+     * TopicStats.ratingDistribution gives the median, p90 and full distribution.
      */
     TopicStats getTopicStatistics(int topicId);
+    
+    /**
+     * STATISTICS - Recompute all derived statistics tables from user_progress
+     * and, for watch time, progress_history
+     * 
+     * Writes keep these tables current; this is for repair or after bulk loads
+     * done outside the DAO.
+     */
+    void rebuildStatistics() throws Exception;
+    
+    /**
+     * LISTENERS - Register a listener for the changes of every committed write,
+     * e.g. a UserLeaderboard
+     */
+    void addChangeListener(ProgressChangeListener listener);
+    
+    /**
+     * SHUTDOWN - Write anything still buffered and stop background work
+     */
+    @Override
+    void close();
 }
 
 
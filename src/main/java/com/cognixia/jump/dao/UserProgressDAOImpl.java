@@ -1,17 +1,31 @@
 package com.cognixia.jump.dao;
 
 import com.cognixia.jump.model.UserProgress;
-import com.cognixia.jump.model.User;
-import com.cognixia.jump.model.Topic;
 import com.cognixia.jump.exception.ProgressAlreadyExistsException;
+import com.cognixia.jump.exception.ProgressConflictException;
 import com.cognixia.jump.exception.UserNotFoundException;
 import com.cognixia.jump.connection.ConnectionManager;
 
 import java.sql.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * USER PROGRESS DAO IMPLEMENTATION
@@ -20,61 +34,372 @@ import java.util.Optional;
  */
 public class UserProgressDAOImpl implements UserProgressDAO {
     
+    // MySQL error code for a duplicate key (the unique_user_topic constraint)
+    private static final int ER_DUP_ENTRY = 1062;
+    
+    // MySQL error codes after which the transaction is rolled back and can simply be run again
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    
+    // Attempts upsertProgress makes before giving up on deadlocks and lock timeouts
+    private static final int UPSERT_MAX_ATTEMPTS = 3;
+    
+    // Rows sent per executeBatch() in createProgressBatch
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    
+    // Reads hydrate the progress row together with its User and Topic in one query.
+    // Both related tables have created_date, so each is aliased.
+    private static final String PROGRESS_WITH_RELATED_COLUMNS =
+            "up.*, " +
+            "t.title, t.category, t.description, t.runtime_minutes, t.release_year, t.genre, " +
+            "t.director, t.letterboxd_rating, t.created_date AS topic_created_date, " +
+            "u.username, u.password, u.email, u.created_date AS user_created_date ";
+    
+    private static final String SELECT_PROGRESS_WITH_RELATED =
+            "SELECT " + PROGRESS_WITH_RELATED_COLUMNS +
+            "FROM user_progress up " +
+            "JOIN topic t ON up.topic_id = t.topic_id " +
+            "JOIN user u ON up.user_id = u.user_id ";
+    
+    // Single-entry reads also pick up the notes; list reads never touch user_progress_note
+    private static final String SELECT_PROGRESS_WITH_NOTES =
+            "SELECT " + PROGRESS_WITH_RELATED_COLUMNS + ", n.notes " +
+            "FROM user_progress up " +
+            "JOIN topic t ON up.topic_id = t.topic_id " +
+            "JOIN user u ON up.user_id = u.user_id " +
+            "LEFT JOIN user_progress_note n ON n.progress_id = up.progress_id ";
+    
+    // Per-user reads start from the user row instead. An unknown user returns no rows,
+    // and a user with no matching entries returns one row with NULL progress columns,
+    // so the same query loads the library and detects a missing user.
+    // Filters on user_progress go in the ON clause, before JOIN_TOPIC_FOR_USER.
+    private static final String SELECT_USER_WITH_PROGRESS =
+            "SELECT " + PROGRESS_WITH_RELATED_COLUMNS +
+            "FROM user u " +
+            "LEFT JOIN user_progress up ON up.user_id = u.user_id ";
+    
+    private static final String JOIN_TOPIC_FOR_USER =
+            "LEFT JOIN topic t ON t.topic_id = up.topic_id " +
+            "WHERE u.user_id = ? ";
+    
+    // Column groups written by updateChangedFields. Status, percentage and the two
+    // dates derive from one another and are always written together; keeping the
+    // set of groups small keeps the SQL to a few fixed texts the statement cache can hold.
+    // Notes live in user_progress_note and are written by a statement of their own.
+    private static final int PROGRESS_GROUP = 1;
+    private static final int RATING_GROUP = 2;
+    private static final int NOTES_GROUP = 4;
+    private static final int ROW_GROUPS = PROGRESS_GROUP | RATING_GROUP;
+    
+    // user_progress UPDATE text per combination of row groups, indexed by group bits;
+    // index 0 only advances the version (a notes-only change)
+    private static final String[] PARTIAL_UPDATE_SQL = buildPartialUpdates();
+    
     private final ConnectionManager connectionManager;
-    private final UserDAO userDAO;
-    private final TopicDAO topicDAO;
+    private final ProgressMaintenance maintenance;
+    private final TopicStatsAggregator topicStatsAggregator;
+    private final List<ProgressChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ChunkedProgressDeleter progressDeleter;
+    
+    // Set while write-behind is enabled for updateProgressPercentage
+    private volatile PercentageWriteBuffer writeBehind;
     
     public UserProgressDAOImpl() {
         this.connectionManager = ConnectionManager.getInstance();
-        this.userDAO = new UserDAOImpl();
-        this.topicDAO = new TopicDAOImpl();
+        this.maintenance = ProgressMaintenance.STANDARD;
+        this.progressDeleter = new ChunkedProgressDeleter(maintenance, new ListenerFanOut(),
+                ChunkedProgressDeleter.DEFAULT_CHUNK_SIZE, ChunkedProgressDeleter.DEFAULT_PAUSE_MILLIS);
+        this.topicStatsAggregator = null;
+    }
+    
+    /**
+     * Topic statistics are kept in the given in-process aggregator instead of being
+     * written to topic_stats inside every transaction. The aggregator merges its
+     * counters into topic_stats when it flushes, and getTopicStatistics reads from it.
+     */
+    public UserProgressDAOImpl(TopicStatsAggregator topicStatsAggregator) {
+        this.connectionManager = ConnectionManager.getInstance();
+        this.maintenance = ProgressMaintenance.STANDARD.without(TopicStatsMaintainer.class);
+        this.progressDeleter = new ChunkedProgressDeleter(maintenance, new ListenerFanOut(),
+                ChunkedProgressDeleter.DEFAULT_CHUNK_SIZE, ChunkedProgressDeleter.DEFAULT_PAUSE_MILLIS);
+        this.topicStatsAggregator = topicStatsAggregator;
+        this.changeListeners.add(topicStatsAggregator);
+    }
+    
+    /**
+     * Deleter using this DAO's maintainers and listeners. Pass it to UserDAOImpl
+     * and TopicDAOImpl so deleting a user or film keeps the same derived state
+     * current as every other write through this DAO.
+     */
+    public ChunkedProgressDeleter getProgressDeleter() {
+        return progressDeleter;
+    }
+    
+    /**
+     * Register a listener for committed progress changes
+     */
+    @Override
+    public void addChangeListener(ProgressChangeListener listener) {
+        changeListeners.add(listener);
     }
     
     /**
      * CREATE PROGRESS
+     * 
+     * Relies on the unique_user_topic key instead of checking first,
+     * so the insert is one round trip and has no check-then-act race.
+     * Derived statistics are updated in the same transaction.
      */
     @Override
     public UserProgress createProgress(UserProgress progress) throws ProgressAlreadyExistsException, Exception {
-        // Check if progress already exists
-        if (isUserTrackingTopic(progress.getUserId(), progress.getTopicId())) {
-            throw new ProgressAlreadyExistsException(progress.getUserId(), progress.getTopicId());
-        }
-        
         String sql = "INSERT INTO user_progress (user_id, topic_id, status, current_progress, " +
-                     "rating, notes, start_date, completion_date) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+                     "rating, start_date, completion_date) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setInt(1, progress.getUserId());
-            pstmt.setInt(2, progress.getTopicId());
-            pstmt.setString(3, progress.getStatus().name());
-            pstmt.setInt(4, progress.getCurrentProgress());
-            pstmt.setObject(5, progress.getRating());
-            pstmt.setString(6, progress.getNotes());
-            pstmt.setObject(7, progress.getStartDate());
-            pstmt.setObject(8, progress.getCompletionDate());
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
             
-            int affectedRows = pstmt.executeUpdate();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                
+                bindProgressInsert(pstmt, progress);
+                
+                int affectedRows = pstmt.executeUpdate();
+                
+                if (affectedRows == 0) {
+                    throw new SQLException("Creating progress failed, no rows affected.");
+                }
+                
+                int progressId;
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating progress failed, no ID obtained.");
+                    }
+                    progressId = generatedKeys.getInt(1);
+                }
+                
+                if (progress.getNotes() != null) {
+                    writeNotes(conn, Collections.singletonMap(progressId, progress.getNotes()));
+                }
+                
+                commitChanges(conn, List.of(ProgressChange.created(progressId, progress)));
+                
+                progress.setProgressId(progressId);
+                return progress;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
-            if (affectedRows == 0) {
-                throw new SQLException("Creating progress failed, no rows affected.");
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (e.getErrorCode() == ER_DUP_ENTRY) {
+                throw new ProgressAlreadyExistsException(progress.getUserId(), progress.getTopicId());
             }
+            System.err.println("Error creating progress: " + e.getMessage());
+            throw new Exception("Failed to create progress: " + e.getMessage(), e);
             
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    progress.setProgressId(generatedKeys.getInt(1));
+        } catch (SQLException e) {
+            System.err.println("Error creating progress: " + e.getMessage());
+            throw new Exception("Failed to create progress: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * UPSERT PROGRESS
+     * 
+     * Locks the existing row for the pair first, so the old values are known for
+     * the statistics update. When the row does not exist yet the lock only covers
+     * the gap, which two upserts of the same new pair can both hold; their INSERTs
+     * then deadlock and MySQL rolls one back. That attempt is run again (up to
+     * UPSERT_MAX_ATTEMPTS times, also after a lock wait timeout) and finds the
+     * row the other one inserted.
+     */
+    @Override
+    public UserProgress upsertProgress(UserProgress progress) throws Exception {
+        flushBeforeQuery();
+        
+        String sql = "INSERT INTO user_progress (user_id, topic_id, status, current_progress, " +
+                     "rating, start_date, completion_date) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE " +
+                     "status = VALUES(status), current_progress = VALUES(current_progress), " +
+                     "rating = VALUES(rating), " +
+                     "start_date = VALUES(start_date), completion_date = VALUES(completion_date), " +
+                     "version = version + 1";
+        
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = connectionManager.getConnection()) {
+                conn.setAutoCommit(false);
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    
+                    UserProgress before = ProgressMaintenance.lockProgress(conn, progress.getUserId(), progress.getTopicId());
+                    
+                    bindProgressInsert(pstmt, progress);
+                    pstmt.executeUpdate();
+                    
+                    int progressId;
+                    ProgressChange change;
+                    if (before != null) {
+                        progressId = before.getProgressId();
+                        change = ProgressChange.updated(before, progress);
+                    } else {
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Upserting progress failed, no ID obtained.");
+                            }
+                            progressId = generatedKeys.getInt(1);
+                        }
+                        change = ProgressChange.created(progressId, progress);
+                    }
+                    
+                    // Entries read by a list query never loaded their notes - keep the stored ones
+                    if (progress.isNotesLoaded()) {
+                        writeNotes(conn, Collections.singletonMap(progressId, progress.getNotes()));
+                    }
+                    
+                    commitChanges(conn, List.of(change));
+                    
+                    // The update branch bumps version; a new row starts at the column default
+                    progress.setProgressId(progressId);
+                    progress.setVersion(before != null ? before.getVersion() + 1 : 0);
                     return progress;
-                } else {
-                    throw new SQLException("Creating progress failed, no ID obtained.");
+                
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+                
+            } catch (SQLException e) {
+                if (isRetryableLockFailure(e) && attempt < UPSERT_MAX_ATTEMPTS) {
+                    continue;
+                }
+                System.err.println("Error upserting progress: " + e.getMessage());
+                throw new Exception("Failed to upsert progress: " + e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * CREATE PROGRESS BATCH
+     */
+    @Override
+    public ProgressBatchResult createProgressBatch(List<UserProgress> progressList) throws Exception {
+        return createProgressBatch(progressList, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * CREATE PROGRESS BATCH
+     * 
+     * 1. Rows failing basic validation are INVALID; pairs repeated in the input are DUPLICATE
+     * 2. The rest go through INSERT IGNORE in JDBC batches of batchSize, one transaction
+     * 3. Before each batch a locking lookup by (user_id, topic_id) finds the pairs already
+     *    tracked (DUPLICATE) and keeps them from being inserted concurrently
+     * 4. After each batch the same lookup returns the new IDs; a pair still missing is
+     *    INVALID (unknown user/topic or a value the schema rejected)
+     * 
+     * The driver rewrites each batch into one multi-row INSERT, which reports no per-row
+     * update counts, so the outcome comes from the two lookups instead.
+     */
+    @Override
+    public ProgressBatchResult createProgressBatch(List<UserProgress> progressList, int batchSize) throws Exception {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        
+        ProgressBatchResult result = new ProgressBatchResult(progressList.size());
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> seenPairs = new HashSet<>();
+        
+        for (int i = 0; i < progressList.size(); i++) {
+            UserProgress progress = progressList.get(i);
+            if (!isInsertable(progress)) {
+                result.outcomes[i] = ProgressBatchResult.Outcome.INVALID;
+            } else if (!seenPairs.add(pairKey(progress.getUserId(), progress.getTopicId()))) {
+                result.outcomes[i] = ProgressBatchResult.Outcome.DUPLICATE;
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        if (candidates.isEmpty()) {
+            return result;
+        }
+        
+        String sql = "INSERT IGNORE INTO user_progress (user_id, topic_id, status, current_progress, " +
+                     "rating, start_date, completion_date) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                List<ProgressChange> changes = new ArrayList<>(candidates.size());
+                Map<Integer, String> notes = new HashMap<>();
+                
+                for (int from = 0; from < candidates.size(); from += batchSize) {
+                    List<Integer> batch = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+                    List<UserProgress> batchRows = new ArrayList<>(batch.size());
+                    for (int index : batch) {
+                        batchRows.add(progressList.get(index));
+                    }
+                    
+                    Map<Long, Integer> existing = findProgressIdsByPair(conn, batchRows, true);
+                    for (UserProgress progress : batchRows) {
+                        if (!existing.containsKey(pairKey(progress.getUserId(), progress.getTopicId()))) {
+                            bindProgressInsert(pstmt, progress);
+                            pstmt.addBatch();
+                        }
+                    }
+                    
+                    if (existing.size() < batchRows.size()) {
+                        pstmt.executeBatch();
+                    }
+                    Map<Long, Integer> idsByPair = findProgressIdsByPair(conn, batchRows, false);
+                    
+                    for (int k = 0; k < batch.size(); k++) {
+                        int index = batch.get(k);
+                        UserProgress progress = batchRows.get(k);
+                        long pair = pairKey(progress.getUserId(), progress.getTopicId());
+                        Integer id = idsByPair.get(pair);
+                        
+                        if (id == null) {
+                            result.outcomes[index] = ProgressBatchResult.Outcome.INVALID;
+                        } else if (!existing.containsKey(pair)) {
+                            result.outcomes[index] = ProgressBatchResult.Outcome.INSERTED;
+                            result.generatedIds[index] = id;
+                            changes.add(ProgressChange.created(id, progress));
+                            if (progress.getNotes() != null) {
+                                notes.put(id, progress.getNotes());
+                            }
+                        } else {
+                            result.outcomes[index] = ProgressBatchResult.Outcome.DUPLICATE;
+                        }
+                    }
                 }
+                
+                writeNotes(conn, notes);
+                commitChanges(conn, changes);
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
             
         } catch (SQLException e) {
-            System.err.println("Error creating progress: " + e.getMessage());
-            throw new Exception("Failed to create progress: " + e.getMessage(), e);
+            System.err.println("Error creating progress batch: " + e.getMessage());
+            throw new Exception("Failed to create progress batch: " + e.getMessage(), e);
+        }
+        
+        // Only hand out IDs once they are committed
+        for (int i = 0; i < progressList.size(); i++) {
+            if (result.outcomes[i] == ProgressBatchResult.Outcome.INSERTED) {
+                progressList.get(i).setProgressId(result.generatedIds[i]);
+            }
         }
+        
+        return result;
     }
     
     /**
@@ -82,7 +407,7 @@ public class UserProgressDAOImpl implements UserProgressDAO {
      */
     @Override
     public Optional<UserProgress> findById(int progressId) {
-        String sql = "SELECT * FROM user_progress WHERE progress_id = ?";
+        String sql = SELECT_PROGRESS_WITH_NOTES + "WHERE up.progress_id = ?";
         
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -91,9 +416,8 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                UserProgress progress = extractProgressFromResultSet(rs);
-                // Load related entities
-                loadRelatedEntities(progress);
+                UserProgress progress = extractProgressWithRelated(rs);
+                progress.setLoadedNotes(rs.getString("notes"));
                 return Optional.of(progress);
             }
             
@@ -109,7 +433,7 @@ public class UserProgressDAOImpl implements UserProgressDAO {
      */
     @Override
     public Optional<UserProgress> findByUserAndTopic(int userId, int topicId) {
-        String sql = "SELECT * FROM user_progress WHERE user_id = ? AND topic_id = ?";
+        String sql = SELECT_PROGRESS_WITH_NOTES + "WHERE up.user_id = ? AND up.topic_id = ?";
         
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -119,8 +443,8 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             ResultSet rs = pstmt.executeQuery();
             
             if (rs.next()) {
-                UserProgress progress = extractProgressFromResultSet(rs);
-                loadRelatedEntities(progress);
+                UserProgress progress = extractProgressWithRelated(rs);
+                progress.setLoadedNotes(rs.getString("notes"));
                 return Optional.of(progress);
             }
             
@@ -136,17 +460,9 @@ public class UserProgressDAOImpl implements UserProgressDAO {
      */
     @Override
     public List<UserProgress> getUserProgress(int userId) throws UserNotFoundException {
-        // Verify user exists
-        Optional<User> user = userDAO.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(userId);
-        }
-        
         List<UserProgress> progressList = new ArrayList<>();
-        String sql = "SELECT up.*, t.title, t.director, t.release_year " +
-                     "FROM user_progress up " +
-                     "JOIN topic t ON up.topic_id = t.topic_id " +
-                     "WHERE up.user_id = ? " +
+        String sql = SELECT_USER_WITH_PROGRESS +
+                     JOIN_TOPIC_FOR_USER +
                      "ORDER BY up.last_updated DESC";
         
         try (Connection conn = connectionManager.getConnection();
@@ -155,10 +471,8 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
             
-            while (rs.next()) {
-                UserProgress progress = extractProgressFromResultSet(rs);
-                loadRelatedEntities(progress);
-                progressList.add(progress);
+            if (!readUserProgressRows(rs, progressList, Integer.MAX_VALUE)) {
+                throw new UserNotFoundException(userId);
             }
             
         } catch (SQLException e) {
@@ -168,35 +482,114 @@ public class UserProgressDAOImpl implements UserProgressDAO {
         return progressList;
     }
     
+    /**
+     * GET USER PROGRESS PAGE
+     * 
+     * Seeks past the last row of the previous page using idx_user_progress_user_updated
+     * (user_id, last_updated, progress_id), so deep pages don't scan skipped rows.
+     * Fetches one extra row to know whether another page exists.
+     */
+    @Override
+    public ProgressPage getUserProgressPage(int userId, String continuationToken, int pageSize) throws UserNotFoundException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        
+        PageCursor after = continuationToken != null ? PageCursor.decode(continuationToken) : null;
+        
+        List<UserProgress> progressList = new ArrayList<>();
+        String sql = SELECT_USER_WITH_PROGRESS +
+                     (after != null
+                         ? "AND (up.last_updated < ? OR (up.last_updated = ? AND up.progress_id < ?)) "
+                         : "") +
+                     JOIN_TOPIC_FOR_USER +
+                     "ORDER BY up.last_updated DESC, up.progress_id DESC " +
+                     "LIMIT ?";
+        
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int parameterIndex = 1;
+            if (after != null) {
+                pstmt.setTimestamp(parameterIndex++, after.lastUpdated);
+                pstmt.setTimestamp(parameterIndex++, after.lastUpdated);
+                pstmt.setInt(parameterIndex++, after.progressId);
+            }
+            pstmt.setInt(parameterIndex++, userId);
+            pstmt.setInt(parameterIndex, pageSize + 1);
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (!readUserProgressRows(rs, progressList, pageSize)) {
+                throw new UserNotFoundException(userId);
+            }
+            
+            // A row beyond pageSize means another page exists
+            if (progressList.size() == pageSize && rs.next()) {
+                UserProgress last = progressList.get(progressList.size() - 1);
+                Timestamp lastUpdated = Timestamp.valueOf(last.getLastUpdated());
+                return new ProgressPage(progressList, new PageCursor(lastUpdated, last.getProgressId()).encode());
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting user progress page: " + e.getMessage());
+        }
+        
+        return new ProgressPage(progressList, null);
+    }
+    
+    /**
+     * STREAM USER PROGRESS
+     * 
+     * Returns an empty stream if the query cannot be started.
+     */
+    @Override
+    public Stream<UserProgress> streamUserProgress(int userId) {
+        String sql = SELECT_PROGRESS_WITH_RELATED +
+                     "WHERE up.user_id = ? " +
+                     "ORDER BY up.last_updated DESC, up.progress_id DESC";
+        
+        try {
+            return ResultSetStream.open(connectionManager, sql,
+                    pstmt -> pstmt.setInt(1, userId), this::extractProgressWithRelated);
+            
+        } catch (SQLException e) {
+            System.err.println("Error streaming user progress: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+    
+    /**
+     * FOR EACH USER PROGRESS
+     */
+    @Override
+    public void forEachUserProgress(int userId, Consumer<? super UserProgress> action) {
+        try (Stream<UserProgress> progress = streamUserProgress(userId)) {
+            progress.forEach(action);
+        }
+    }
+    
     /**
      * GET USER PROGRESS BY STATUS
      */
     @Override
     public List<UserProgress> getUserProgressByStatus(int userId, UserProgress.Status status) throws UserNotFoundException {
-        // Verify user exists
-        Optional<User> user = userDAO.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(userId);
-        }
+        flushBeforeQuery();
         
         List<UserProgress> progressList = new ArrayList<>();
-        String sql = "SELECT up.*, t.title, t.director, t.release_year " +
-                     "FROM user_progress up " +
-                     "JOIN topic t ON up.topic_id = t.topic_id " +
-                     "WHERE up.user_id = ? AND up.status = ? " +
+        String sql = SELECT_USER_WITH_PROGRESS +
+                     "AND up.status = ? " +
+                     JOIN_TOPIC_FOR_USER +
                      "ORDER BY up.last_updated DESC";
         
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setInt(1, userId);
-            pstmt.setString(2, status.name());
+            pstmt.setString(1, status.name());
+            pstmt.setInt(2, userId);
             ResultSet rs = pstmt.executeQuery();
             
-            while (rs.next()) {
-                UserProgress progress = extractProgressFromResultSet(rs);
-                loadRelatedEntities(progress);
-                progressList.add(progress);
+            if (!readUserProgressRows(rs, progressList, Integer.MAX_VALUE)) {
+                throw new UserNotFoundException(userId);
             }
             
         } catch (SQLException e) {
@@ -207,27 +600,111 @@ public class UserProgressDAOImpl implements UserProgressDAO {
     }
     
     /**
-     * UPDATE PROGRESS
+     * LIST LIBRARY ROWS
+     * 
+     * Same user-first shape as getUserProgress, so an unknown user is still
+     * detected in the one query, but only the seven displayed columns are read.
      */
     @Override
-    public boolean updateProgress(UserProgress progress) {
-        String sql = "UPDATE user_progress " +
-                     "SET status = ?, current_progress = ?, rating = ?, notes = ?, " +
-                     "start_date = ?, completion_date = ? " +
-                     "WHERE progress_id = ?";
+    public List<LibraryRow> listLibraryRows(int userId, UserProgress.Status status) throws UserNotFoundException {
+        if (status != null) {
+            flushBeforeQuery();
+        }
+        
+        List<LibraryRow> rows = new ArrayList<>();
+        String sql = "SELECT up.progress_id, up.topic_id, t.title, t.release_year, " +
+                     "up.status, up.current_progress, up.rating " +
+                     "FROM user u " +
+                     "LEFT JOIN user_progress up ON up.user_id = u.user_id " +
+                     (status != null ? "AND up.status = ? " : "") +
+                     JOIN_TOPIC_FOR_USER +
+                     "ORDER BY up.last_updated DESC";
         
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, progress.getStatus().name());
-            pstmt.setInt(2, progress.getCurrentProgress());
-            pstmt.setObject(3, progress.getRating());
-            pstmt.setString(4, progress.getNotes());
-            pstmt.setObject(5, progress.getStartDate());
-            pstmt.setObject(6, progress.getCompletionDate());
-            pstmt.setInt(7, progress.getProgressId());
+            int index = 1;
+            if (status != null) {
+                pstmt.setString(index++, status.name());
+            }
+            pstmt.setInt(index, userId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            boolean userFound = false;
+            while (rs.next()) {
+                userFound = true;
+                if (rs.getObject("progress_id") != null) {
+                    rows.add(extractLibraryRow(rs));
+                }
+            }
+            
+            if (!userFound) {
+                throw new UserNotFoundException(userId);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error listing library rows: " + e.getMessage());
+        }
+        
+        return rows;
+    }
+    
+    /**
+     * UPDATE PROGRESS
+     * 
+     * Compare-and-set on the version column. The row lock is taken only for the
+     * duration of this statement, never while a caller is deciding what to write,
+     * so a stale entry is detected here and reported instead of overwriting the
+     * newer row. Derived statistics are updated in the same transaction.
+     */
+    @Override
+    public boolean updateProgress(UserProgress progress) throws ProgressConflictException {
+        flushBeforeOverwrite(progress.getProgressId());
+        
+        String sql = "UPDATE user_progress " +
+                     "SET status = ?, current_progress = ?, rating = ?, " +
+                     "start_date = ?, completion_date = ?, version = version + 1 " +
+                     "WHERE progress_id = ? AND version = ?";
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
             
-            return pstmt.executeUpdate() > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                UserProgress before = ProgressMaintenance.lockProgress(conn, progress.getProgressId());
+                if (before == null) {
+                    conn.rollback();
+                    return false;
+                }
+                if (before.getVersion() != progress.getVersion()) {
+                    conn.rollback();
+                    throw new ProgressConflictException(progress.getProgressId(),
+                            progress.getVersion(), before.getVersion());
+                }
+                
+                pstmt.setString(1, progress.getStatus().name());
+                pstmt.setInt(2, progress.getCurrentProgress());
+                pstmt.setObject(3, progress.getRating());
+                pstmt.setObject(4, progress.getStartDate());
+                pstmt.setObject(5, progress.getCompletionDate());
+                pstmt.setInt(6, progress.getProgressId());
+                pstmt.setInt(7, progress.getVersion());
+                pstmt.executeUpdate();
+                
+                // Entries read by a list query never loaded their notes - keep the stored ones
+                if (progress.isNotesLoaded()) {
+                    writeNotes(conn, Collections.singletonMap(progress.getProgressId(), progress.getNotes()));
+                }
+                
+                commitChanges(conn, List.of(ProgressChange.updated(before, progress)));
+                progress.setVersion(before.getVersion() + 1);
+                progress.clearDirtyFields();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating progress: " + e.getMessage());
@@ -235,60 +712,356 @@ public class UserProgressDAOImpl implements UserProgressDAO {
         }
     }
     
+    /**
+     * UPDATE CHANGED FIELDS
+     * 
+     * Same compare-and-set as updateProgress, but the UPDATE only names the column
+     * groups with dirty fields, so e.g. a status change never rewrites the notes.
+     * The version check guarantees the untouched columns still match the entry,
+     * which keeps the recorded change exact.
+     */
+    @Override
+    public boolean updateChangedFields(UserProgress progress) throws ProgressConflictException {
+        int groups = dirtyGroups(progress.getDirtyFields());
+        if (groups == 0) {
+            return true;
+        }
+        
+        flushBeforeOverwrite(progress.getProgressId());
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(PARTIAL_UPDATE_SQL[groups & ROW_GROUPS])) {
+                
+                UserProgress before = ProgressMaintenance.lockProgress(conn, progress.getProgressId());
+                if (before == null) {
+                    conn.rollback();
+                    return false;
+                }
+                if (before.getVersion() != progress.getVersion()) {
+                    conn.rollback();
+                    throw new ProgressConflictException(progress.getProgressId(),
+                            progress.getVersion(), before.getVersion());
+                }
+                
+                int index = 1;
+                if ((groups & PROGRESS_GROUP) != 0) {
+                    pstmt.setString(index++, progress.getStatus().name());
+                    pstmt.setInt(index++, progress.getCurrentProgress());
+                    pstmt.setObject(index++, progress.getStartDate());
+                    pstmt.setObject(index++, progress.getCompletionDate());
+                }
+                if ((groups & RATING_GROUP) != 0) {
+                    pstmt.setObject(index++, progress.getRating());
+                }
+                pstmt.setInt(index++, progress.getProgressId());
+                pstmt.setInt(index, progress.getVersion());
+                pstmt.executeUpdate();
+                
+                if ((groups & NOTES_GROUP) != 0) {
+                    writeNotes(conn, Collections.singletonMap(progress.getProgressId(), progress.getNotes()));
+                }
+                
+                commitChanges(conn, List.of(ProgressChange.updated(before, progress)));
+                progress.setVersion(before.getVersion() + 1);
+                progress.clearDirtyFields();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating changed fields: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * UPDATE PROGRESS WITH RETRY
+     * 
+     * Each attempt starts from a fresh read, so only the fields the change
+     * touches are written.
+     */
+    @Override
+    public Optional<UserProgress> updateProgressWithRetry(int progressId, Consumer<UserProgress> change,
+                                                          int maxAttempts) throws ProgressConflictException {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        
+        ProgressConflictException lastConflict = null;
+        
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Optional<UserProgress> current = findById(progressId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            
+            UserProgress progress = current.get();
+            change.accept(progress);
+            
+            try {
+                return updateChangedFields(progress) ? Optional.of(progress) : Optional.empty();
+            } catch (ProgressConflictException e) {
+                lastConflict = e;
+            }
+        }
+        
+        throw lastConflict;
+    }
+    
     /**
      * UPDATE PROGRESS PERCENTAGE
+     * 
+     * With write-behind enabled the value is only buffered and true is returned
+     * straight away; an unknown progressId is then silently dropped at flush time.
      */
     @Override
     public boolean updateProgressPercentage(int progressId, int percentage) {
-        String sql = "UPDATE user_progress " +
-                     "SET current_progress = ?, " +
-                     "status = CASE " +
-                     "    WHEN ? = 0 THEN 'PLAN_TO_START' " +
-                     "    WHEN ? = 100 THEN 'COMPLETED' " +
-                     "    ELSE 'IN_PROGRESS' " +
-                     "END, " +
-                     "start_date = CASE " +
-                     "    WHEN ? > 0 AND start_date IS NULL THEN CURRENT_DATE " +
-                     "    ELSE start_date " +
-                     "END, " +
-                     "completion_date = CASE " +
-                     "    WHEN ? = 100 THEN CURRENT_DATE " +
-                     "    ELSE NULL " +
-                     "END " +
-                     "WHERE progress_id = ?";
+        PercentageWriteBuffer buffer = writeBehind;
+        if (buffer != null) {
+            buffer.put(progressId, percentage);
+            return true;
+        }
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            return writePercentages(Map.of(progressId, percentage)) > 0;
             
-            pstmt.setInt(1, percentage);
-            pstmt.setInt(2, percentage);
-            pstmt.setInt(3, percentage);
-            pstmt.setInt(4, percentage);
-            pstmt.setInt(5, percentage);
-            pstmt.setInt(6, progressId);
+        } catch (SQLException e) {
+            System.err.println("Error updating progress percentage: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * ENABLE WRITE-BEHIND
+     * 
+     * From now on updateProgressPercentage only records the latest percentage per
+     * row in memory. Buffered values are written in JDBC batches every
+     * flushIntervalMillis, or once flushThreshold rows are pending, and on
+     * disableWriteBehind() or close(). Reads through this DAO see them at once.
+     * 
+     * Call close() before ConnectionManager.shutdown(); values still buffered
+     * once the pool is closed are lost.
+     */
+    public synchronized void enableWriteBehind(int flushThreshold, long flushIntervalMillis) {
+        if (writeBehind != null) {
+            return;
+        }
+        writeBehind = new PercentageWriteBuffer(this::writePercentages, flushThreshold, flushIntervalMillis);
+    }
+    
+    /**
+     * FLUSH PENDING WRITES
+     * 
+     * Write all buffered percentages now. Returns false if the write failed;
+     * the values stay buffered and are retried on the next flush.
+     */
+    public boolean flushPendingWrites() {
+        PercentageWriteBuffer buffer = writeBehind;
+        if (buffer == null) {
+            return true;
+        }
+        
+        try {
+            buffer.flush();
+            return true;
             
-            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error flushing buffered progress updates: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * DISABLE WRITE-BEHIND
+     * 
+     * Flush what is buffered and go back to writing every update directly.
+     * Returns false if the final flush failed.
+     */
+    public synchronized boolean disableWriteBehind() {
+        PercentageWriteBuffer buffer = writeBehind;
+        if (buffer == null) {
+            return true;
+        }
+        
+        try {
+            buffer.close();
+            writeBehind = null;
+            return true;
             
         } catch (SQLException e) {
-            System.err.println("Error updating progress percentage: " + e.getMessage());
+            System.err.println("Error flushing buffered progress updates: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * CLOSE
+     * 
+     * Flush buffered percentages and stop the background deleter. Runs while
+     * the connection pool is still open, so nothing buffered is lost.
+     */
+    @Override
+    public void close() {
+        disableWriteBehind();
+        progressDeleter.close();
+    }
+    
+    /**
+     * BULK UPDATE PERCENTAGE
+     */
+    @Override
+    public int bulkUpdatePercentage(int userId, Collection<Integer> topicIds, int percentage) throws Exception {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("Progress must be between 0 and 100");
+        }
+        return bulkTransition(userId, topicIds, current -> percentage, "?", percentage);
+    }
+    
+    /**
+     * BULK UPDATE STATUS
+     */
+    @Override
+    public int bulkUpdateStatus(int userId, Collection<Integer> topicIds, UserProgress.Status status) throws Exception {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        
+        switch (status) {
+            case PLAN_TO_START:
+                return bulkTransition(userId, topicIds, current -> 0, "0", null);
+            case COMPLETED:
+                return bulkTransition(userId, topicIds, current -> 100, "100", null);
+            default:
+                return bulkTransition(userId, topicIds, current -> Math.min(Math.max(current, 1), 99),
+                        "LEAST(GREATEST(current_progress, 1), 99)", null);
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Move a user's entries for a set of topics to a new percentage
+     * 
+     * The new percentage is given twice: in Java, to work out which rows change and
+     * record them, and as the SQL expression the single UPDATE applies. Rows that
+     * would not change are left out, so their version is not advanced.
+     * 
+     * @param targetSql SQL for the new percentage in terms of current_progress;
+     *                  a "?" is bound to targetParam
+     */
+    private int bulkTransition(int userId, Collection<Integer> topicIds, IntUnaryOperator target,
+                               String targetSql, Integer targetParam) throws Exception {
+        if (topicIds.isEmpty()) {
+            return 0;
+        }
+        
+        flushBeforeQuery();
+        
+        // MySQL applies single-table UPDATE assignments left to right, so the
+        // CASEs after the first assignment already see the new current_progress
+        String update = "UPDATE user_progress " +
+                        "SET current_progress = " + targetSql + ", version = version + 1, " +
+                        "status = CASE " +
+                        "    WHEN current_progress = 0 THEN 'PLAN_TO_START' " +
+                        "    WHEN current_progress = 100 THEN 'COMPLETED' " +
+                        "    ELSE 'IN_PROGRESS' " +
+                        "END, " +
+                        "start_date = CASE " +
+                        "    WHEN current_progress > 0 AND start_date IS NULL THEN CURRENT_DATE " +
+                        "    ELSE start_date " +
+                        "END, " +
+                        "completion_date = CASE " +
+                        "    WHEN current_progress = 100 THEN CURRENT_DATE " +
+                        "    ELSE NULL " +
+                        "END " +
+                        "WHERE user_id = ? AND progress_id IN (";
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                Map<Integer, UserProgress> before = ProgressMaintenance.lockProgress(conn, userId, topicIds);
+                
+                List<ProgressChange> changes = new ArrayList<>();
+                for (UserProgress old : before.values()) {
+                    int percentage = target.applyAsInt(old.getCurrentProgress());
+                    UserProgress.Status status = statusForPercentage(percentage);
+                    if (percentage != old.getCurrentProgress() || status != old.getStatus()) {
+                        changes.add(new ProgressChange(old.getProgressId(), old.getUserId(), old.getTopicId(),
+                                old.getStatus(), status,
+                                old.getCurrentProgress(), percentage,
+                                old.getRating(), old.getRating()));
+                    }
+                }
+                
+                List<Integer> changedIds = new ArrayList<>(changes.size());
+                for (ProgressChange change : changes) {
+                    changedIds.add(change.progressId);
+                }
+                
+                for (List<Integer> chunk : InClause.chunks(changedIds)) {
+                    String sql = update + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+                    
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        if (targetParam != null) {
+                            pstmt.setInt(index++, targetParam);
+                        }
+                        pstmt.setInt(index++, userId);
+                        InClause.bind(pstmt, index, chunk);
+                        pstmt.executeUpdate();
+                    }
+                }
+                
+                commitChanges(conn, changes);
+                return changes.size();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error applying bulk progress update: " + e.getMessage());
+            throw new Exception("Failed to apply bulk progress update: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * UPDATE RATING
      */
     @Override
     public boolean updateRating(int progressId, double rating) {
-        String sql = "UPDATE user_progress SET rating = ? WHERE progress_id = ?";
+        String sql = "UPDATE user_progress SET rating = ?, version = version + 1 WHERE progress_id = ?";
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
             
-            pstmt.setDouble(1, rating);
-            pstmt.setInt(2, progressId);
-            
-            return pstmt.executeUpdate() > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                UserProgress before = ProgressMaintenance.lockProgress(conn, progressId);
+                if (before == null) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                pstmt.setDouble(1, rating);
+                pstmt.setInt(2, progressId);
+                pstmt.executeUpdate();
+                
+                commitChanges(conn, List.of(new ProgressChange(progressId, before.getUserId(), before.getTopicId(),
+                        before.getStatus(), before.getStatus(),
+                        before.getCurrentProgress(), before.getCurrentProgress(),
+                        before.getRating(), rating)));
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating rating: " + e.getMessage());
@@ -298,18 +1071,33 @@ public class UserProgressDAOImpl implements UserProgressDAO {
     
     /**
      * UPDATE NOTES
+     * 
+     * Writes only user_progress_note; the progress row just has its version advanced.
+     * Blank notes remove the stored ones.
      */
     @Override
     public boolean updateNotes(int progressId, String notes) {
-        String sql = "UPDATE user_progress SET notes = ? WHERE progress_id = ?";
+        String sql = "UPDATE user_progress SET version = version + 1 WHERE progress_id = ?";
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, notes);
-            pstmt.setInt(2, progressId);
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
             
-            return pstmt.executeUpdate() > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                pstmt.setInt(1, progressId);
+                if (pstmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                writeNotes(conn, Collections.singletonMap(progressId, notes));
+                conn.commit();
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error updating notes: " + e.getMessage());
@@ -317,19 +1105,89 @@ public class UserProgressDAOImpl implements UserProgressDAO {
         }
     }
     
+    /**
+     * LOAD NOTES
+     */
+    @Override
+    public Map<Integer, String> loadNotes(Collection<Integer> progressIds) {
+        Map<Integer, String> notes = new HashMap<>();
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            
+            for (List<Integer> chunk : InClause.chunks(progressIds)) {
+                String sql = "SELECT progress_id, notes FROM user_progress_note " +
+                             "WHERE progress_id IN (" + InClause.placeholders(InClause.paddedSize(chunk.size())) + ")";
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    InClause.bind(pstmt, 1, chunk);
+                    ResultSet rs = pstmt.executeQuery();
+                    
+                    while (rs.next()) {
+                        notes.put(rs.getInt("progress_id"), rs.getString("notes"));
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading notes: " + e.getMessage());
+        }
+        
+        return notes;
+    }
+    
+    /**
+     * ATTACH NOTES
+     */
+    @Override
+    public void attachNotes(Collection<UserProgress> progressList) {
+        List<Integer> progressIds = new ArrayList<>();
+        for (UserProgress progress : progressList) {
+            if (!progress.isNotesLoaded()) {
+                progressIds.add(progress.getProgressId());
+            }
+        }
+        if (progressIds.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, String> notes = loadNotes(progressIds);
+        for (UserProgress progress : progressList) {
+            if (!progress.isNotesLoaded()) {
+                progress.setLoadedNotes(notes.get(progress.getProgressId()));
+            }
+        }
+    }
+    
     /**
      * DELETE PROGRESS
      */
     @Override
     public boolean deleteProgress(int progressId) {
+        flushBeforeOverwrite(progressId);
+        
         String sql = "DELETE FROM user_progress WHERE progress_id = ?";
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, progressId);
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
             
-            return pstmt.executeUpdate() > 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                UserProgress before = ProgressMaintenance.lockProgress(conn, progressId);
+                if (before == null) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                pstmt.setInt(1, progressId);
+                pstmt.executeUpdate();
+                
+                commitChanges(conn, List.of(ProgressChange.deleted(before)));
+                return true;
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
             
         } catch (SQLException e) {
             System.err.println("Error deleting progress: " + e.getMessage());
@@ -339,28 +1197,46 @@ public class UserProgressDAOImpl implements UserProgressDAO {
     
     /**
      * DELETE USER PROGRESS
+     * 
+     * Deletes in short chunked transactions (see ChunkedProgressDeleter), so a
+     * large library does not hold its locks for the whole removal.
      */
     @Override
     public boolean deleteUserProgress(int userId) throws UserNotFoundException {
-        // Verify user exists
-        Optional<User> user = userDAO.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(userId);
+        // Rows committed so far, so a failure part way can say what it left behind
+        int[] removed = new int[1];
+        int deleted;
+        try {
+            deleted = progressDeleter.deleteUserProgress(userId,
+                    (soFar, estimatedTotal) -> removed[0] = soFar);
+        } catch (Exception e) {
+            System.err.println("Error deleting user progress after " + removed[0] + " rows were removed: "
+                    + e.getMessage());
+            return removed[0] > 0;
         }
         
-        String sql = "DELETE FROM user_progress WHERE user_id = ?";
+        if (deleted > 0) {
+            return true;
+        }
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, userId);
-            
-            return pstmt.executeUpdate() > 0;
-            
+        // Nothing deleted - only now is it worth asking whether the user exists
+        try (Connection conn = connectionManager.getConnection()) {
+            if (!userExists(conn, userId)) {
+                throw new UserNotFoundException(userId);
+            }
         } catch (SQLException e) {
             System.err.println("Error deleting user progress: " + e.getMessage());
-            return false;
         }
+        return false;
+    }
+    
+    /**
+     * DELETE USER PROGRESS IN BACKGROUND
+     */
+    @Override
+    public CompletableFuture<Integer> deleteUserProgressInBackground(int userId,
+                                                                     ChunkedProgressDeleter.DeletionListener listener) {
+        return progressDeleter.deleteUserProgressInBackground(userId, listener);
     }
     
     /**
@@ -390,21 +1266,19 @@ public class UserProgressDAOImpl implements UserProgressDAO {
     
     /**
      * GET USER PROGRESS SUMMARY
+     * 
+     * Reads the counters kept in user_progress_summary. A user without a
+     * summary row has never tracked anything, so the counters default to 0.
      */
     @Override
     public UserProgressSummary getUserProgressSummary(int userId) throws UserNotFoundException {
-        // Verify user exists
-        Optional<User> user = userDAO.findById(userId);
-        if (user.isEmpty()) {
-            throw new UserNotFoundException(userId);
-        }
+        flushBeforeQuery();
         
-        String sql = "SELECT " +
-                     "COUNT(*) as total, " +
-                     "SUM(CASE WHEN status = 'PLAN_TO_START' THEN 1 ELSE 0 END) as plan_to_start, " +
-                     "SUM(CASE WHEN status = 'IN_PROGRESS' THEN 1 ELSE 0 END) as in_progress, " +
-                     "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) as completed " +
-                     "FROM user_progress WHERE user_id = ?";
+        // Anchored on the user row: no row back means no such user
+        String sql = "SELECT s.total_count, s.plan_to_start_count, s.in_progress_count, s.completed_count " +
+                     "FROM user u " +
+                     "LEFT JOIN user_progress_summary s ON s.user_id = u.user_id " +
+                     "WHERE u.user_id = ?";
         
         try (Connection conn = connectionManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -412,15 +1286,17 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
             
-            if (rs.next()) {
-                return new UserProgressSummary(
-                    rs.getInt("total"),
-                    rs.getInt("plan_to_start"),
-                    rs.getInt("in_progress"),
-                    rs.getInt("completed")
-                );
+            if (!rs.next()) {
+                throw new UserNotFoundException(userId);
             }
             
+            return new UserProgressSummary(
+                rs.getInt("total_count"),
+                rs.getInt("plan_to_start_count"),
+                rs.getInt("in_progress_count"),
+                rs.getInt("completed_count")
+            );
+            
         } catch (SQLException e) {
             System.err.println("Error getting user progress summary: " + e.getMessage());
         }
@@ -431,31 +1307,24 @@ public class UserProgressDAOImpl implements UserProgressDAO {
     
     /**
      * GET TOPIC STATISTICS
+     * 
+     * Reads the topic_stats row maintained by every progress write. The average
+     * is the exact rating sum over the rating count, and the rating histogram
+     * in the same row gives the median and percentiles without a scan.
      */
     @Override
     public TopicStats getTopicStatistics(int topicId) {
-        String sql = "SELECT " +
-                     "COUNT(*) as total_users, " +
-                     "SUM(CASE WHEN status = 'PLAN_TO_START' THEN 1 ELSE 0 END) as plan_to_start, " +
-                     "SUM(CASE WHEN status = 'IN_PROGRESS' THEN 1 ELSE 0 END) as in_progress, " +
-                     "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) as completed, " +
-                     "AVG(rating) as avg_rating " +
-                     "FROM user_progress WHERE topic_id = ?";
+        flushBeforeQuery();
         
-        try (Connection conn = connectionManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, topicId);
-            ResultSet rs = pstmt.executeQuery();
+        if (topicStatsAggregator != null) {
+            return topicStatsAggregator.getTopicStatistics(topicId);
+        }
+        
+        try (Connection conn = connectionManager.getConnection()) {
             
-            if (rs.next()) {
-                return new TopicStats(
-                    rs.getInt("total_users"),
-                    rs.getInt("plan_to_start"),
-                    rs.getInt("in_progress"),
-                    rs.getInt("completed"),
-                    rs.getDouble("avg_rating")
-                );
+            long[] values = TopicStatsMaintainer.readRows(conn, List.of(topicId)).get(topicId);
+            if (values != null) {
+                return TopicStatsMaintainer.toTopicStats(values);
             }
             
         } catch (SQLException e) {
@@ -466,6 +1335,240 @@ public class UserProgressDAOImpl implements UserProgressDAO {
         return new TopicStats(0, 0, 0, 0, 0.0);
     }
     
+    /**
+     * REBUILD STATISTICS
+     * 
+     * Recomputes every derived statistics table from user_progress (watch time
+     * from progress_history) in one transaction. Use after bulk loads that
+     * bypassed the DAO, or to repair drift.
+     */
+    @Override
+    public void rebuildStatistics() throws Exception {
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try {
+                ProgressMaintenance.STANDARD.rebuildAll(conn);
+                conn.commit();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding statistics: " + e.getMessage());
+            throw new Exception("Failed to rebuild statistics: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Set percentages (progressId -> percentage) in one transaction
+     * 
+     * Locks the rows, runs the UPDATE as one JDBC batch and records the changes.
+     * Rows already at the percentage and its status are left alone: no write,
+     * no version bump, no change event. Returns the number of rows that exist,
+     * written or not.
+     */
+    private int writePercentages(Map<Integer, Integer> percentages) throws SQLException {
+        String sql = "UPDATE user_progress " +
+                     "SET current_progress = ?, version = version + 1, " +
+                     "status = CASE " +
+                     "    WHEN ? = 0 THEN 'PLAN_TO_START' " +
+                     "    WHEN ? = 100 THEN 'COMPLETED' " +
+                     "    ELSE 'IN_PROGRESS' " +
+                     "END, " +
+                     "start_date = CASE " +
+                     "    WHEN ? > 0 AND start_date IS NULL THEN CURRENT_DATE " +
+                     "    ELSE start_date " +
+                     "END, " +
+                     "completion_date = CASE " +
+                     "    WHEN ? = 100 THEN CURRENT_DATE " +
+                     "    ELSE NULL " +
+                     "END " +
+                     "WHERE progress_id = ?";
+        
+        try (Connection conn = connectionManager.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                Map<Integer, UserProgress> before = ProgressMaintenance.lockProgress(conn, percentages.keySet());
+                List<ProgressChange> changes = new ArrayList<>(before.size());
+                
+                for (UserProgress old : before.values()) {
+                    int percentage = percentages.get(old.getProgressId());
+                    
+                    if (old.getCurrentProgress() == percentage && old.getStatus() == statusForPercentage(percentage)) {
+                        continue;
+                    }
+                    
+                    pstmt.setInt(1, percentage);
+                    pstmt.setInt(2, percentage);
+                    pstmt.setInt(3, percentage);
+                    pstmt.setInt(4, percentage);
+                    pstmt.setInt(5, percentage);
+                    pstmt.setInt(6, old.getProgressId());
+                    pstmt.addBatch();
+                    
+                    changes.add(new ProgressChange(old.getProgressId(), old.getUserId(), old.getTopicId(),
+                            old.getStatus(), statusForPercentage(percentage),
+                            old.getCurrentProgress(), percentage,
+                            old.getRating(), old.getRating()));
+                }
+                
+                if (!changes.isEmpty()) {
+                    pstmt.executeBatch();
+                }
+                commitChanges(conn, changes);
+                return before.size();
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Make buffered percentages visible to a query that filters
+     * or aggregates on them in SQL
+     */
+    private void flushBeforeQuery() {
+        PercentageWriteBuffer buffer = writeBehind;
+        if (buffer != null && !buffer.isEmpty()) {
+            flushPendingWrites();
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Write a row's buffered percentage before an update that
+     * replaces it, so the older buffered value cannot land afterwards
+     */
+    private void flushBeforeOverwrite(int progressId) {
+        PercentageWriteBuffer buffer = writeBehind;
+        if (buffer != null && buffer.get(progressId) != null) {
+            flushPendingWrites();
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Update derived tables, commit, then notify listeners
+     */
+    private void commitChanges(Connection conn, List<ProgressChange> changes) throws SQLException {
+        maintenance.apply(conn, changes);
+        conn.commit();
+        notifyListeners(changes);
+    }
+    
+    /**
+     * HELPER METHOD - Tell listeners about committed changes
+     */
+    private void notifyListeners(List<ProgressChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (ProgressChangeListener listener : changeListeners) {
+            try {
+                listener.onCommit(changes);
+            } catch (RuntimeException e) {
+                System.err.println("Error notifying progress listener: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Passes the deleter's notifications on to every registered listener
+     */
+    private final class ListenerFanOut implements ProgressChangeListener {
+        
+        @Override
+        public void onCommit(List<ProgressChange> changes) {
+            notifyListeners(changes);
+        }
+        
+        @Override
+        public void onUserDeleted(int userId) {
+            for (ProgressChangeListener listener : changeListeners) {
+                try {
+                    listener.onUserDeleted(userId);
+                } catch (RuntimeException e) {
+                    System.err.println("Error notifying progress listener: " + e.getMessage());
+                }
+            }
+        }
+        
+        @Override
+        public void onTopicDeleted(int topicId) {
+            for (ProgressChangeListener listener : changeListeners) {
+                try {
+                    listener.onTopicDeleted(topicId);
+                } catch (RuntimeException e) {
+                    System.err.println("Error notifying progress listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * HELPER METHOD - True for a deadlock or lock wait timeout, after which the
+     * transaction was rolled back and may be retried
+     */
+    private static boolean isRetryableLockFailure(SQLException e) {
+        return e.getErrorCode() == ER_LOCK_DEADLOCK || e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
+    }
+    
+    /**
+     * HELPER METHOD - Column groups covering a set of dirty fields
+     */
+    private static int dirtyGroups(Set<UserProgress.Field> dirtyFields) {
+        int groups = 0;
+        for (UserProgress.Field field : dirtyFields) {
+            switch (field) {
+                case RATING:
+                    groups |= RATING_GROUP;
+                    break;
+                case NOTES:
+                    groups |= NOTES_GROUP;
+                    break;
+                default:
+                    groups |= PROGRESS_GROUP;
+                    break;
+            }
+        }
+        return groups;
+    }
+    
+    /**
+     * HELPER METHOD - Build the UPDATE text for every combination of row groups
+     */
+    private static String[] buildPartialUpdates() {
+        String[] sql = new String[ROW_GROUPS + 1];
+        
+        for (int groups = 0; groups < sql.length; groups++) {
+            StringBuilder set = new StringBuilder("UPDATE user_progress SET ");
+            if ((groups & PROGRESS_GROUP) != 0) {
+                set.append("status = ?, current_progress = ?, start_date = ?, completion_date = ?, ");
+            }
+            if ((groups & RATING_GROUP) != 0) {
+                set.append("rating = ?, ");
+            }
+            sql[groups] = set.append("version = version + 1 WHERE progress_id = ? AND version = ?").toString();
+        }
+        
+        return sql;
+    }
+    
+    /**
+     * HELPER METHOD - Status implied by a percentage, matching updateProgressPercentage
+     */
+    static UserProgress.Status statusForPercentage(int percentage) {
+        if (percentage == 0) {
+            return UserProgress.Status.PLAN_TO_START;
+        }
+        return percentage == 100 ? UserProgress.Status.COMPLETED : UserProgress.Status.IN_PROGRESS;
+    }
+    
     /**
      * HELPER METHOD - Extract UserProgress from ResultSet
      */
@@ -483,7 +1586,8 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             progress.setRating(rating);
         }
         
-        progress.setNotes(rs.getString("notes"));
+        progress.unloadNotes();
+        progress.setVersion(rs.getInt("version"));
         
         Date startDate = rs.getDate("start_date");
         if (startDate != null) {
@@ -500,24 +1604,230 @@ public class UserProgressDAOImpl implements UserProgressDAO {
             progress.setLastUpdated(lastUpdated.toLocalDateTime());
         }
         
+        // A buffered percentage is newer than the stored row; apply it as writePercentages would
+        PercentageWriteBuffer buffer = writeBehind;
+        Integer pending = buffer != null ? buffer.get(progress.getProgressId()) : null;
+        if (pending != null) {
+            LocalDate storedStartDate = progress.getStartDate();
+            progress.setCurrentProgress(pending);
+            progress.setStatus(statusForPercentage(pending));
+            
+            // The setters date in the JVM zone; use the dates the flush will write,
+            // CURRENT_DATE, which is UTC since ConnectionManager forces the session zone
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            progress.setStartDate(pending > 0 && storedStartDate == null ? today : storedStartDate);
+            progress.setCompletionDate(pending == 100 ? today : null);
+            
+            // The setters stamp lastUpdated with now; keep the stored value, which
+            // keyset page tokens are built from
+            progress.setLastUpdated(lastUpdated != null ? lastUpdated.toLocalDateTime() : null);
+        }
+        
+        progress.clearDirtyFields();
         return progress;
     }
     
     /**
-     * HELPER METHOD - Load related User and Topic entities
+     * HELPER METHOD - Extract a LibraryRow, with any buffered percentage applied
      */
-    private void loadRelatedEntities(UserProgress progress) {
-        try {
-            // Load User
-            Optional<User> user = userDAO.findById(progress.getUserId());
-            user.ifPresent(progress::setUser);
+    private LibraryRow extractLibraryRow(ResultSet rs) throws SQLException {
+        int progressId = rs.getInt("progress_id");
+        UserProgress.Status status = UserProgress.Status.valueOf(rs.getString("status"));
+        int currentProgress = rs.getInt("current_progress");
+        
+        int year = rs.getInt("release_year");
+        Integer releaseYear = rs.wasNull() ? null : year;
+        
+        double rating = rs.getDouble("rating");
+        Double ratingOrNull = rs.wasNull() ? null : rating;
+        
+        PercentageWriteBuffer buffer = writeBehind;
+        Integer pending = buffer != null ? buffer.get(progressId) : null;
+        if (pending != null) {
+            currentProgress = pending;
+            status = statusForPercentage(pending);
+        }
+        
+        return new LibraryRow(progressId, rs.getInt("topic_id"), rs.getString("title"), releaseYear,
+                status, currentProgress, ratingOrNull);
+    }
+    
+    /**
+     * HELPER METHOD - Bind the 7 INSERT columns
+     */
+    private void bindProgressInsert(PreparedStatement pstmt, UserProgress progress) throws SQLException {
+        pstmt.setInt(1, progress.getUserId());
+        pstmt.setInt(2, progress.getTopicId());
+        pstmt.setString(3, progress.getStatus().name());
+        pstmt.setInt(4, progress.getCurrentProgress());
+        pstmt.setObject(5, progress.getRating());
+        pstmt.setObject(6, progress.getStartDate());
+        pstmt.setObject(7, progress.getCompletionDate());
+    }
+    
+    /**
+     * HELPER METHOD - Store notes (progressId -> notes) in user_progress_note
+     * 
+     * Null or blank notes delete the stored row. Rows are written in progress ID order.
+     */
+    private static void writeNotes(Connection conn, Map<Integer, String> notesById) throws SQLException {
+        if (notesById.isEmpty()) {
+            return;
+        }
+        
+        String upsertSql = "INSERT INTO user_progress_note (progress_id, notes) VALUES (?, ?) " +
+                           "ON DUPLICATE KEY UPDATE notes = VALUES(notes)";
+        String deleteSql = "DELETE FROM user_progress_note WHERE progress_id = ?";
+        
+        try (PreparedStatement upsert = conn.prepareStatement(upsertSql);
+             PreparedStatement delete = conn.prepareStatement(deleteSql)) {
             
-            // Load Topic
-            Optional<Topic> topic = topicDAO.findById(progress.getTopicId());
-            topic.ifPresent(progress::setTopic);
+            int upserts = 0;
+            int deletes = 0;
             
-        } catch (Exception e) {
-            System.err.println("Error loading related entities: " + e.getMessage());
+            for (Map.Entry<Integer, String> entry : new TreeMap<>(notesById).entrySet()) {
+                String notes = entry.getValue();
+                if (notes == null || notes.trim().isEmpty()) {
+                    delete.setInt(1, entry.getKey());
+                    delete.addBatch();
+                    deletes++;
+                } else {
+                    upsert.setInt(1, entry.getKey());
+                    upsert.setString(2, notes);
+                    upsert.addBatch();
+                    upserts++;
+                }
+            }
+            
+            if (upserts > 0) {
+                upsert.executeBatch();
+            }
+            if (deletes > 0) {
+                delete.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Client-side checks before a row is sent in a batch
+     */
+    private boolean isInsertable(UserProgress progress) {
+        return progress != null
+                && progress.getUserId() > 0
+                && progress.getTopicId() > 0
+                && progress.getStatus() != null
+                && progress.getCurrentProgress() >= 0 && progress.getCurrentProgress() <= 100
+                && (progress.getRating() == null
+                    || (progress.getRating() >= 1.0 && progress.getRating() <= 5.0));
+    }
+    
+    /**
+     * HELPER METHOD - Look up progress IDs for (user_id, topic_id) pairs, keyed by pairKey().
+     * With forUpdate the pairs are locked, missing ones included, until the transaction ends.
+     */
+    private Map<Long, Integer> findProgressIdsByPair(Connection conn, List<UserProgress> rows,
+                                                     boolean forUpdate) throws SQLException {
+        Map<Long, Integer> ids = new HashMap<>();
+        
+        for (int from = 0; from < rows.size(); from += InClause.MAX_CHUNK_SIZE) {
+            List<UserProgress> chunk = rows.subList(from, Math.min(from + InClause.MAX_CHUNK_SIZE, rows.size()));
+            int padded = InClause.paddedSize(chunk.size());
+            String sql = "SELECT progress_id, user_id, topic_id FROM user_progress " +
+                         "WHERE (user_id, topic_id) IN (" + String.join(", ", Collections.nCopies(padded, "(?, ?)")) + ")" +
+                         (forUpdate ? " FOR UPDATE" : "");
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int parameterIndex = 1;
+                for (int i = 0; i < padded; i++) {
+                    // Pad by repeating the last pair, same as InClause
+                    UserProgress progress = chunk.get(Math.min(i, chunk.size() - 1));
+                    pstmt.setInt(parameterIndex++, progress.getUserId());
+                    pstmt.setInt(parameterIndex++, progress.getTopicId());
+                }
+                ResultSet rs = pstmt.executeQuery();
+                
+                while (rs.next()) {
+                    ids.put(pairKey(rs.getInt("user_id"), rs.getInt("topic_id")), rs.getInt("progress_id"));
+                }
+            }
         }
+        
+        return ids;
+    }
+    
+    /**
+     * HELPER CLASS - Position after the last row of a page, carried in the continuation token
+     */
+    private static final class PageCursor {
+        private final Timestamp lastUpdated;
+        private final int progressId;
+        
+        PageCursor(Timestamp lastUpdated, int progressId) {
+            this.lastUpdated = lastUpdated;
+            this.progressId = progressId;
+        }
+        
+        String encode() {
+            String raw = lastUpdated.getTime() + ":" + progressId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static PageCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":");
+                return new PageCursor(new Timestamp(Long.parseLong(parts[0])), Integer.parseInt(parts[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+            }
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Pack a (user_id, topic_id) pair into one map key
+     */
+    private static long pairKey(int userId, int topicId) {
+        return ((long) userId << 32) | (topicId & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * HELPER METHOD - Read rows of a SELECT_USER_WITH_PROGRESS query
+     * 
+     * Adds up to maxRows progress entries, skipping the placeholder row a user
+     * with no entries produces. Returns false if there were no rows at all,
+     * meaning the user does not exist.
+     */
+    private boolean readUserProgressRows(ResultSet rs, List<UserProgress> progressList, int maxRows) throws SQLException {
+        boolean userFound = false;
+        
+        while (progressList.size() < maxRows && rs.next()) {
+            userFound = true;
+            if (rs.getObject("progress_id") != null) {
+                progressList.add(extractProgressWithRelated(rs));
+            }
+        }
+        
+        return userFound;
+    }
+    
+    /**
+     * HELPER METHOD - Existence check on an already open connection
+     */
+    private boolean userExists(Connection conn, int userId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT 1 FROM user WHERE user_id = ?")) {
+            pstmt.setInt(1, userId);
+            return pstmt.executeQuery().next();
+        }
+    }
+    
+    /**
+     * HELPER METHOD - Extract UserProgress with its User and Topic
+     * from a row of SELECT_PROGRESS_WITH_RELATED
+     */
+    private UserProgress extractProgressWithRelated(ResultSet rs) throws SQLException {
+        UserProgress progress = extractProgressFromResultSet(rs);
+        progress.setTopic(TopicDAOImpl.extractTopicFromResultSet(rs, "topic_created_date"));
+        progress.setUser(UserDAOImpl.extractUserFromResultSet(rs, "user_created_date"));
+        return progress;
     }
 }
\ No newline at end of file
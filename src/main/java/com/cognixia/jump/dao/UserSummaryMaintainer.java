@@ -0,0 +1,93 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.model.UserProgress;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * USER SUMMARY MAINTAINER
+ *
+ * Keeps user_progress_summary (one row of status counters per user) in step
+ * with user_progress, so getUserProgressSummary is a primary-key lookup.
+ *
+ * Changes are folded into one delta per user and written as additive upserts.
+ * Users are visited in id order so concurrent writers lock summary rows in
+ * the same order.
+ */
+final class UserSummaryMaintainer implements ProgressMaintainer {
+
+    private static final String UPSERT_DELTA =
+            "INSERT INTO user_progress_summary " +
+            "(user_id, total_count, plan_to_start_count, in_progress_count, completed_count) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_count = total_count + VALUES(total_count), " +
+            "plan_to_start_count = plan_to_start_count + VALUES(plan_to_start_count), " +
+            "in_progress_count = in_progress_count + VALUES(in_progress_count), " +
+            "completed_count = completed_count + VALUES(completed_count)";
+
+    // Delta slots: total followed by one counter per status
+    private static final int TOTAL = 0;
+
+    @Override
+    public void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        Map<Integer, int[]> deltas = new TreeMap<>();
+
+        for (ProgressChange change : changes) {
+            if (!change.statusChanged()) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(change.userId, id -> new int[4]);
+            if (change.oldStatus != null) {
+                delta[slot(change.oldStatus)]--;
+            } else {
+                delta[TOTAL]++;
+            }
+            if (change.newStatus != null) {
+                delta[slot(change.newStatus)]++;
+            } else {
+                delta[TOTAL]--;
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_DELTA)) {
+            for (Map.Entry<Integer, int[]> entry : deltas.entrySet()) {
+                int[] delta = entry.getValue();
+                pstmt.setInt(1, entry.getKey());
+                pstmt.setInt(2, delta[TOTAL]);
+                pstmt.setInt(3, delta[slot(UserProgress.Status.PLAN_TO_START)]);
+                pstmt.setInt(4, delta[slot(UserProgress.Status.IN_PROGRESS)]);
+                pstmt.setInt(5, delta[slot(UserProgress.Status.COMPLETED)]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    @Override
+    public void rebuild(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM user_progress_summary");
+            stmt.executeUpdate(
+                    "INSERT INTO user_progress_summary " +
+                    "(user_id, total_count, plan_to_start_count, in_progress_count, completed_count) " +
+                    "SELECT user_id, COUNT(*), " +
+                    "SUM(status = 'PLAN_TO_START'), SUM(status = 'IN_PROGRESS'), SUM(status = 'COMPLETED') " +
+                    "FROM user_progress GROUP BY user_id");
+        }
+    }
+
+    private static int slot(UserProgress.Status status) {
+        return status.ordinal() + 1;
+    }
+}
@@ -0,0 +1,123 @@
+package com.cognixia.jump.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * WATCH TIME MAINTAINER
+ *
+ * Keeps user_watch_time and topic_watch_time, the minutes watched per user and
+ * per film rolled up by day and by month. A change from old% to new% of a film
+ * adds (new - old) x runtime_minutes / 100 minutes to the current day and month
+ * rows of both its user and its film; lowering a percentage subtracts.
+ * Deleting an entry leaves the rollups alone - the watching still happened.
+ *
+ * The runtime is read from topic inside each upsert (INSERT ... SELECT by
+ * primary key), so no runtime cache can go stale. Films without a runtime
+ * contribute nothing. Rollups are rebuilt from progress_history, so they only
+ * reach back as far as the history partitions that are kept.
+ */
+final class WatchTimeMaintainer implements ProgressMaintainer {
+
+    private static final String USER_DAY = upsertSql("user_watch_time", "user_id", "DAY", "CURRENT_DATE");
+    private static final String USER_MONTH = upsertSql("user_watch_time", "user_id", "MONTH", firstOfMonth("CURRENT_DATE"));
+    private static final String TOPIC_DAY = upsertSql("topic_watch_time", "topic_id", "DAY", "CURRENT_DATE");
+    private static final String TOPIC_MONTH = upsertSql("topic_watch_time", "topic_id", "MONTH", firstOfMonth("CURRENT_DATE"));
+
+    @Override
+    public void apply(Connection conn, List<ProgressChange> changes) throws SQLException {
+        // Percentage-point deltas per (user, film) and per film, in key order for lock ordering
+        Map<Long, Integer> userDeltas = new TreeMap<>();
+        Map<Integer, Integer> topicDeltas = new TreeMap<>();
+
+        for (ProgressChange change : changes) {
+            int delta = change.newPercentage - change.oldPercentage;
+            if (change.isDelete() || delta == 0) {
+                continue;
+            }
+            userDeltas.merge(((long) change.userId << 32) | change.topicId, delta, Integer::sum);
+            topicDeltas.merge(change.topicId, delta, Integer::sum);
+        }
+
+        userDeltas.values().removeIf(delta -> delta == 0);
+        topicDeltas.values().removeIf(delta -> delta == 0);
+        if (userDeltas.isEmpty()) {
+            return;
+        }
+
+        for (String sql : new String[] { USER_DAY, USER_MONTH }) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Long, Integer> entry : userDeltas.entrySet()) {
+                    pstmt.setInt(1, (int) (entry.getKey() >>> 32));
+                    pstmt.setInt(2, entry.getValue());
+                    pstmt.setInt(3, (int) (long) entry.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+
+        for (String sql : new String[] { TOPIC_DAY, TOPIC_MONTH }) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Integer, Integer> entry : topicDeltas.entrySet()) {
+                    pstmt.setInt(1, entry.getKey());
+                    pstmt.setInt(2, entry.getValue());
+                    pstmt.setInt(3, entry.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    @Override
+    public void rebuild(Connection conn) throws SQLException {
+        // progress columns are unsigned, so subtract them as signed values
+        String minutes = "SUM((CAST(h.new_progress AS SIGNED) - CAST(h.old_progress AS SIGNED)) * t.runtime_minutes) / 100";
+        String day = "DATE(h.changed_at)";
+        String month = firstOfMonth("h.changed_at");
+
+        // Deleted users and films still have history; join them so only live owners get rows
+        String userSource = "FROM progress_history h JOIN topic t ON t.topic_id = h.topic_id " +
+                            "JOIN user u ON u.user_id = h.user_id " +
+                            "WHERE h.new_status IS NOT NULL AND t.runtime_minutes IS NOT NULL ";
+        String topicSource = "FROM progress_history h JOIN topic t ON t.topic_id = h.topic_id " +
+                             "WHERE h.new_status IS NOT NULL AND t.runtime_minutes IS NOT NULL ";
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM user_watch_time");
+            stmt.executeUpdate("DELETE FROM topic_watch_time");
+
+            for (String[] rollup : new String[][] { { "DAY", day }, { "MONTH", month } }) {
+                stmt.executeUpdate(
+                        "INSERT INTO user_watch_time (user_id, granularity, period_start, watch_minutes) " +
+                        "SELECT h.user_id, '" + rollup[0] + "', " + rollup[1] + ", " + minutes + " " +
+                        userSource + "GROUP BY h.user_id, " + rollup[1]);
+                stmt.executeUpdate(
+                        "INSERT INTO topic_watch_time (topic_id, granularity, period_start, watch_minutes) " +
+                        "SELECT h.topic_id, '" + rollup[0] + "', " + rollup[1] + ", " + minutes + " " +
+                        topicSource + "GROUP BY h.topic_id, " + rollup[1]);
+            }
+        }
+    }
+
+    /**
+     * Additive upsert of one rollup row. Parameters: owner id, percentage-point
+     * delta, film id (for its runtime).
+     */
+    private static String upsertSql(String table, String idColumn, String granularity, String periodStart) {
+        return "INSERT INTO " + table + " (" + idColumn + ", granularity, period_start, watch_minutes) " +
+               "SELECT ?, '" + granularity + "', " + periodStart + ", ? * runtime_minutes / 100 " +
+               "FROM topic WHERE topic_id = ? AND runtime_minutes IS NOT NULL " +
+               "ON DUPLICATE KEY UPDATE watch_minutes = watch_minutes + VALUES(watch_minutes)";
+    }
+
+    private static String firstOfMonth(String dateExpression) {
+        return "DATE_FORMAT(" + dateExpression + ", '%Y-%m-01')";
+    }
+}
@@ -0,0 +1,134 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * WATCH TIME READER
+ *
+ * Minutes watched per user and per film, read straight from the
+ * user_watch_time and topic_watch_time rollups that WatchTimeMaintainer keeps
+ * current. Each query is a primary-key range scan over at most one row per
+ * day or month - no join with user_progress or topic.
+ *
+ * Watch time is percent x runtime: moving a film from 20% to 70% counts half
+ * its runtime on the day of the change. Days and months are UTC: the rollups
+ * are bucketed by CURRENT_DATE in sessions ConnectionManager forces to UTC,
+ * and rebuilt from the UTC changed_at of progress_history.
+ */
+public class WatchTimeReader {
+
+    private final ConnectionManager connectionManager;
+
+    public WatchTimeReader() {
+        this.connectionManager = ConnectionManager.getInstance();
+    }
+
+    /**
+     * Total minutes a user has watched
+     */
+    public double getUserWatchMinutes(int userId) throws Exception {
+        return total("user_watch_time", "user_id", userId);
+    }
+
+    /**
+     * Total minutes all users have watched of a film
+     */
+    public double getTopicWatchMinutes(int topicId) throws Exception {
+        return total("topic_watch_time", "topic_id", topicId);
+    }
+
+    /**
+     * Minutes a user watched per day, for the days from..to inclusive.
+     * Days without watching are absent.
+     */
+    public SortedMap<LocalDate, Double> getUserWatchMinutesByDay(int userId, LocalDate from, LocalDate to)
+            throws Exception {
+        return periods("user_watch_time", "user_id", userId, "DAY", from, to);
+    }
+
+    /**
+     * Minutes a user watched per month, for the months from..to inclusive
+     */
+    public SortedMap<YearMonth, Double> getUserWatchMinutesByMonth(int userId, YearMonth from, YearMonth to)
+            throws Exception {
+        return byMonth(periods("user_watch_time", "user_id", userId, "MONTH", from.atDay(1), to.atDay(1)));
+    }
+
+    /**
+     * Minutes all users watched of a film per day, for the days from..to inclusive
+     */
+    public SortedMap<LocalDate, Double> getTopicWatchMinutesByDay(int topicId, LocalDate from, LocalDate to)
+            throws Exception {
+        return periods("topic_watch_time", "topic_id", topicId, "DAY", from, to);
+    }
+
+    /**
+     * Minutes all users watched of a film per month, for the months from..to inclusive
+     */
+    public SortedMap<YearMonth, Double> getTopicWatchMinutesByMonth(int topicId, YearMonth from, YearMonth to)
+            throws Exception {
+        return byMonth(periods("topic_watch_time", "topic_id", topicId, "MONTH", from.atDay(1), to.atDay(1)));
+    }
+
+    private double total(String table, String idColumn, int id) throws Exception {
+        // Month rows cover everything the day rows do, with far fewer rows
+        String sql = "SELECT COALESCE(SUM(watch_minutes), 0) FROM " + table + " " +
+                     "WHERE " + idColumn + " = ? AND granularity = 'MONTH'";
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getDouble(1) : 0.0;
+
+        } catch (SQLException e) {
+            System.err.println("Error reading watch time: " + e.getMessage());
+            throw new Exception("Failed to read watch time: " + e.getMessage(), e);
+        }
+    }
+
+    private SortedMap<LocalDate, Double> periods(String table, String idColumn, int id, String granularity,
+                                                 LocalDate from, LocalDate to) throws Exception {
+        String sql = "SELECT period_start, watch_minutes FROM " + table + " " +
+                     "WHERE " + idColumn + " = ? AND granularity = ? AND period_start BETWEEN ? AND ? " +
+                     "ORDER BY period_start";
+
+        SortedMap<LocalDate, Double> minutes = new TreeMap<>();
+
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            pstmt.setString(2, granularity);
+            pstmt.setObject(3, from);
+            pstmt.setObject(4, to);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                minutes.put(rs.getDate("period_start").toLocalDate(), rs.getDouble("watch_minutes"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading watch time: " + e.getMessage());
+            throw new Exception("Failed to read watch time: " + e.getMessage(), e);
+        }
+
+        return minutes;
+    }
+
+    private static SortedMap<YearMonth, Double> byMonth(SortedMap<LocalDate, Double> periods) {
+        SortedMap<YearMonth, Double> months = new TreeMap<>();
+        periods.forEach((start, minutes) -> months.put(YearMonth.from(start), minutes));
+        return months;
+    }
+}
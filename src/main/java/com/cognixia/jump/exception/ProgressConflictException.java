@@ -0,0 +1,38 @@
+package com.cognixia.jump.exception;
+
+/**
+ * PROGRESS CONFLICT EXCEPTION
+ * 
+ * Thrown when a progress entry was changed by someone else since it was read.
+ * The caller should re-read the entry and apply its change again.
+ */
+public class ProgressConflictException extends Exception {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private int progressId;
+    private int expectedVersion;
+    private int actualVersion;
+    
+    // Constructor with the version the caller read and the version now stored
+    public ProgressConflictException(int progressId, int expectedVersion, int actualVersion) {
+        super(String.format("Progress entry %d was modified concurrently (expected version %d, found %d)",
+                progressId, expectedVersion, actualVersion));
+        this.progressId = progressId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+    
+    // Getters for additional context
+    public int getProgressId() {
+        return progressId;
+    }
+    
+    public int getExpectedVersion() {
+        return expectedVersion;
+    }
+    
+    public int getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -26,12 +26,22 @@ import java.time.format.DateTimeFormatter;
  */
 public class ProgressTrackerApp {
     
+    // Months of progress_history partitions kept ready by --maintain-history
+    private static final int HISTORY_MONTHS_AHEAD = 3;
+    
+    // Films listed under "Trending" when browsing
+    private static final int TRENDING_LIMIT = 3;
+    
     // Static variables for application state
     private static Scanner scanner = new Scanner(System.in);
     private static ConnectionManager connectionManager;
     private static UserDAO userDAO;
     private static TopicDAO topicDAO;
     private static UserProgressDAO progressDAO;
+    private static TopicStatsAggregator topicStatsAggregator;
+    private static WatchTimeReader watchTimeReader;
+    private static UserLeaderboard leaderboard;
+    private static TrendingTopics trendingTopics;
     private static User currentUser = null;
     
     /**
@@ -42,9 +52,23 @@ public class ProgressTrackerApp {
         System.out.println("   PROGRESS TRACKER - SCI-FI FILMS");
         System.out.println("========================================");
         
+        List<String> options = Arrays.asList(args);
+        
         try {
             // Initialize database connection and DAOs
-            initializeApplication();
+            initializeApplication(options.contains("--aggregate-topic-stats"));
+            
+            // Maintenance mode: recompute derived statistics and exit
+            if (options.contains("--rebuild-stats")) {
+                rebuildStatistics();
+                return;
+            }
+            
+            // Maintenance mode: create upcoming progress_history partitions and exit
+            if (options.contains("--maintain-history")) {
+                maintainHistoryPartitions();
+                return;
+            }
             
             // Start the authentication loop
             boolean exit = false;
@@ -64,14 +88,28 @@ public class ProgressTrackerApp {
         } finally {
             // Clean up resources
             scanner.close();
+            // Buffered writes go first, while the pool is open; the aggregator then
+            // merges the changes they produced
+            if (progressDAO != null) {
+                progressDAO.close();
+            }
+            if (topicStatsAggregator != null) {
+                topicStatsAggregator.close();
+            }
+            if (connectionManager != null) {
+                connectionManager.shutdown();
+            }
             System.out.println("Application terminated.");
         }
     }
     
     /**
      * INITIALIZE APPLICATION
+     * 
+     * With aggregateTopicStats, film statistics are counted in memory and merged
+     * into the database periodically instead of on every write.
      */
-    private static void initializeApplication() throws Exception {
+    private static void initializeApplication(boolean aggregateTopicStats) throws Exception {
         System.out.println("Initializing application...");
         
         // Get the singleton instance of ConnectionManager
@@ -82,14 +120,55 @@ public class ProgressTrackerApp {
             throw new Exception("Cannot connect to database. Please check your MySQL setup.");
         }
         
-        // Initialize DAOs
-        userDAO = new UserDAOImpl();
-        topicDAO = new TopicDAOImpl();
-        progressDAO = new UserProgressDAOImpl();
+        // Initialize DAOs; user and film deletes go through the progress DAO's deleter
+        // so its maintainers and listeners see them like any other write
+        UserProgressDAOImpl progressDAOImpl;
+        if (aggregateTopicStats) {
+            topicStatsAggregator = new TopicStatsAggregator();
+            topicStatsAggregator.start();
+            progressDAOImpl = new UserProgressDAOImpl(topicStatsAggregator);
+        } else {
+            progressDAOImpl = new UserProgressDAOImpl();
+        }
+        progressDAO = progressDAOImpl;
+        userDAO = new UserDAOImpl(progressDAOImpl.getProgressDeleter());
+        topicDAO = new TopicDAOImpl(progressDAOImpl.getProgressDeleter());
+        watchTimeReader = new WatchTimeReader();
+        
+        // Leaderboards are loaded once and then follow every progress write
+        leaderboard = new UserLeaderboard();
+        leaderboard.load();
+        progressDAO.addChangeListener(leaderboard);
+        
+        trendingTopics = new TrendingTopics();
+        progressDAO.addChangeListener(trendingTopics);
         
         System.out.println("✅ Application initialized successfully!\n");
     }
     
+    /**
+     * REBUILD STATISTICS - run with --rebuild-stats
+     */
+    private static void rebuildStatistics() throws Exception {
+        System.out.println("Rebuilding progress statistics...");
+        
+        long start = System.currentTimeMillis();
+        progressDAO.rebuildStatistics();
+        
+        System.out.println("✅ Statistics rebuilt in " + (System.currentTimeMillis() - start) + " ms");
+    }
+    
+    /**
+     * MAINTAIN HISTORY PARTITIONS - run with --maintain-history
+     */
+    private static void maintainHistoryPartitions() throws Exception {
+        System.out.println("Adding progress history partitions...");
+        
+        int added = ProgressHistoryReader.addMonthlyPartitions(HISTORY_MONTHS_AHEAD);
+        
+        System.out.println("✅ " + added + " monthly partition(s) added");
+    }
+    
     /**
      * AUTHENTICATION MENU
      */
@@ -273,6 +352,8 @@ public class ProgressTrackerApp {
             }
             System.out.println("-".repeat(100));
             
+            displayTrending(topics, TrendingTopics.Window.LAST_DAY);
+            
         } catch (Exception e) {
             System.out.println("❌ Error loading films: " + e.getMessage());
         }
@@ -285,8 +366,8 @@ public class ProgressTrackerApp {
         System.out.println("\n📊 MY PROGRESS");
         
         try {
-            // Get user's progress entries
-            List<UserProgress> progressList = progressDAO.getUserProgress(currentUser.getUserId());
+            // Get user's library rows (display columns only)
+            List<LibraryRow> progressList = progressDAO.listLibraryRows(currentUser.getUserId(), null);
             
             if (progressList.isEmpty()) {
                 System.out.println("You haven't started tracking any films yet.");
@@ -303,6 +384,11 @@ public class ProgressTrackerApp {
             System.out.println("In Progress: " + summary.inProgress);
             System.out.println("Completed: " + summary.completed);
             
+            long minutesWatched = Math.round(watchTimeReader.getUserWatchMinutes(currentUser.getUserId()));
+            System.out.printf("Time Watched: %dh %02dm%n", minutesWatched / 60, minutesWatched % 60);
+            displayLeaderboardRank("Completed Films Rank", UserLeaderboard.Board.COMPLETED_FILMS);
+            displayLeaderboardRank("Watch Time Rank", UserLeaderboard.Board.WATCH_MINUTES);
+            
             // Group progress by status
             System.out.println("\n🎯 PLAN TO START:");
             displayProgressByStatus(progressList, UserProgress.Status.PLAN_TO_START);
@@ -318,23 +404,53 @@ public class ProgressTrackerApp {
         }
     }
     
+    /**
+     * HELPER - Display the films most started or completed in a window, if any
+     */
+    private static void displayTrending(List<Topic> topics, TrendingTopics.Window window) {
+        List<TrendingTopic> trending = trendingTopics.getTrending(window, TRENDING_LIMIT);
+        if (trending.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, String> titles = new HashMap<>();
+        for (Topic topic : topics) {
+            titles.put(topic.getTopicId(), topic.getTitle());
+        }
+        
+        System.out.println("🔥 Trending (" + window.getLabel() + "):");
+        for (TrendingTopic topic : trending) {
+            System.out.println(" - " + titles.getOrDefault(topic.topicId, "Film #" + topic.topicId)
+                    + " (" + topic.transitions + ")");
+        }
+    }
+    
+    /**
+     * HELPER - Display the current user's place on a leaderboard
+     */
+    private static void displayLeaderboardRank(String label, UserLeaderboard.Board board) {
+        Optional<LeaderboardEntry> entry = leaderboard.getEntry(board, currentUser.getUserId());
+        if (entry.isPresent()) {
+            System.out.println(label + ": #" + entry.get().rank + " of " + leaderboard.getUserCount(board));
+        }
+    }
+    
     /**
      * HELPER - Display progress entries by status
      */
-    private static void displayProgressByStatus(List<UserProgress> progressList, UserProgress.Status status) {
+    private static void displayProgressByStatus(List<LibraryRow> progressList, UserProgress.Status status) {
         boolean found = false;
-        for (UserProgress progress : progressList) {
-            if (progress.getStatus() == status) {
+        for (LibraryRow progress : progressList) {
+            if (progress.status == status) {
                 found = true;
-                Topic topic = progress.getTopic();
                 
-                System.out.printf("  • %s (%s)", topic.getTitle(), 
-                    topic.getReleaseYear() != null ? topic.getReleaseYear().getValue() : "N/A");
+                System.out.printf("  • %s (%s)", progress.title, 
+                    progress.releaseYear != null ? progress.releaseYear : "N/A");
                 
                 if (status == UserProgress.Status.IN_PROGRESS) {
-                    System.out.printf(" - %d%% complete", progress.getCurrentProgress());
-                } else if (status == UserProgress.Status.COMPLETED && progress.getRating() != null) {
-                    System.out.printf(" - Your rating: %.1f⭐", progress.getRating());
+                    System.out.printf(" - %d%% complete", progress.currentProgress);
+                } else if (status == UserProgress.Status.COMPLETED && progress.rating != null) {
+                    System.out.printf(" - Your rating: %.1f⭐", progress.rating);
                 }
                 
                 System.out.println();
@@ -372,13 +488,8 @@ public class ProgressTrackerApp {
             
             Topic topic = topicOpt.get();
             
-            // Check if already tracking
-            if (progressDAO.isUserTrackingTopic(currentUser.getUserId(), topicId)) {
-                System.out.println("❌ You are already tracking this film.");
-                return;
-            }
-            
             // Choose initial status
+            // (already-tracked films are rejected by createProgress below)
             System.out.println("\nSelect initial status:");
             System.out.println("1. Plan to Start");
             System.out.println("2. In Progress");
@@ -545,10 +656,14 @@ public class ProgressTrackerApp {
             progress.setCompletionDate(LocalDate.now());
         }
         
-        if (progressDAO.updateProgress(progress)) {
-            System.out.println("✅ Status updated successfully!");
-        } else {
-            System.out.println("❌ Failed to update status.");
+        try {
+            if (progressDAO.updateChangedFields(progress)) {
+                System.out.println("✅ Status updated successfully!");
+            } else {
+                System.out.println("❌ Failed to update status.");
+            }
+        } catch (ProgressConflictException e) {
+            System.out.println("❌ This film was changed in another session. Reload it and try again.");
         }
     }
     
@@ -556,6 +671,9 @@ public class ProgressTrackerApp {
      * UPDATE NOTES
      */
     private static void updateNotes(UserProgress progress) {
+        // Library listings don't read notes
+        progressDAO.attachNotes(List.of(progress));
+        
         System.out.println("\nCurrent notes: " + 
             (progress.getNotes() != null ? progress.getNotes() : "None"));
         System.out.print("Enter new notes (or press Enter to keep current): ");
@@ -606,7 +724,18 @@ public class ProgressTrackerApp {
             System.out.println("Completed: " + stats.completedCount);
             
             if (stats.averageRating > 0) {
-                System.out.printf("Average User Rating: %.1f⭐%n", stats.averageRating);
+                System.out.printf("Average User Rating: %.1f⭐ (%d ratings)%n", stats.averageRating, stats.ratingCount);
+                System.out.printf("Median Rating: %.1f⭐ | 90th Percentile: %.1f⭐%n",
+                        stats.ratingDistribution.getMedian(), stats.ratingDistribution.getP90());
+                
+                // One bar per half star that has ratings
+                int[] counts = stats.ratingDistribution.counts;
+                for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+                    if (counts[bucket] > 0) {
+                        System.out.printf("  %.1f | %s %d%n", RatingDistribution.bucketRating(bucket),
+                                "█".repeat(Math.max(1, counts[bucket] * 20 / stats.ratingCount)), counts[bucket]);
+                    }
+                }
             } else {
                 System.out.println("Average User Rating: No ratings yet");
             }
@@ -3,6 +3,10 @@ package com.cognixia.jump.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * USER PROGRESS MODEL CLASS
@@ -11,6 +15,12 @@ import java.time.format.DateTimeFormatter;
  * It maps to the 'user_progress' table and acts as the junction between users and topics.
  * 
  * For films: current_progress represents completion percentage (0-100)
+ * 
+ * Setters record which columns they actually changed (including the dates and
+ * status they derive), so the DAO can write back only those columns.
+ * 
+ * Notes are stored in a side table and list queries leave them unloaded;
+ * getNotes() then returns null until the DAO's attachNotes() fills them in.
  */
 public class UserProgress {
     
@@ -22,14 +32,19 @@ public class UserProgress {
     private int currentProgress;       // For films: 0 (not started) or 100 (completed)
     private Double rating;             // User's rating (1.0-5.0)
     private String notes;              // Personal notes about the film
+    private boolean notesLoaded = true; // False while notes were not read from the database
     private LocalDate startDate;       // When user started watching
     private LocalDate completionDate;  // When user finished watching
     private LocalDateTime lastUpdated; // Last modification timestamp
+    private int version;               // Optimistic lock counter, bumped by every update
     
     // Linked objects (populated by DAO when needed)
     private User user;
     private Topic topic;
     
+    // Columns changed through setters since the entry was loaded or last saved
+    private final Set<Field> dirtyFields = EnumSet.noneOf(Field.class);
+    
     // Enum for progress status
     public enum Status {
         PLAN_TO_START("Plan to Start"),
@@ -47,6 +62,16 @@ public class UserProgress {
         }
     }
     
+    // Writable columns tracked for dirty checking
+    public enum Field {
+        STATUS,
+        CURRENT_PROGRESS,
+        RATING,
+        NOTES,
+        START_DATE,
+        COMPLETION_DATE
+    }
+    
     // Default constructor
     public UserProgress() {
         this.status = Status.PLAN_TO_START;
@@ -116,6 +141,10 @@ public class UserProgress {
         return notes;
     }
     
+    public boolean isNotesLoaded() {
+        return notesLoaded;
+    }
+    
     public LocalDate getStartDate() {
         return startDate;
     }
@@ -128,6 +157,18 @@ public class UserProgress {
         return lastUpdated;
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
+    public Set<Field> getDirtyFields() {
+        return Collections.unmodifiableSet(dirtyFields);
+    }
+    
+    public boolean isDirty() {
+        return !dirtyFields.isEmpty();
+    }
+    
     public User getUser() {
         return user;
     }
@@ -162,14 +203,18 @@ public class UserProgress {
         if (status == null) {
             throw new IllegalArgumentException("Status cannot be null");
         }
+        markChanged(Field.STATUS, this.status, status);
         this.status = status;
         this.lastUpdated = LocalDateTime.now();
         
         // Auto-update dates based on status change
         if (status == Status.IN_PROGRESS && this.startDate == null) {
             this.startDate = LocalDate.now();
+            dirtyFields.add(Field.START_DATE);
         } else if (status == Status.COMPLETED && this.completionDate == null) {
             this.completionDate = LocalDate.now();
+            dirtyFields.add(Field.COMPLETION_DATE);
+            markChanged(Field.CURRENT_PROGRESS, this.currentProgress, 100);
             this.currentProgress = 100; // Films are complete at 100%
         }
     }
@@ -178,21 +223,27 @@ public class UserProgress {
         if (currentProgress < 0 || currentProgress > 100) {
             throw new IllegalArgumentException("Progress must be between 0 and 100");
         }
+        markChanged(Field.CURRENT_PROGRESS, this.currentProgress, currentProgress);
         this.currentProgress = currentProgress;
         this.lastUpdated = LocalDateTime.now();
         
         // Auto-update status based on progress
         if (currentProgress == 0 && this.status != Status.PLAN_TO_START) {
             this.status = Status.PLAN_TO_START;
+            dirtyFields.add(Field.STATUS);
         } else if (currentProgress > 0 && currentProgress < 100 && this.status != Status.IN_PROGRESS) {
             this.status = Status.IN_PROGRESS;
+            dirtyFields.add(Field.STATUS);
             if (this.startDate == null) {
                 this.startDate = LocalDate.now();
+                dirtyFields.add(Field.START_DATE);
             }
         } else if (currentProgress == 100 && this.status != Status.COMPLETED) {
             this.status = Status.COMPLETED;
+            dirtyFields.add(Field.STATUS);
             if (this.completionDate == null) {
                 this.completionDate = LocalDate.now();
+                dirtyFields.add(Field.COMPLETION_DATE);
             }
         }
     }
@@ -201,20 +252,58 @@ public class UserProgress {
         if (rating != null && (rating < 1.0 || rating > 5.0)) {
             throw new IllegalArgumentException("Rating must be between 1.0 and 5.0");
         }
+        markChanged(Field.RATING, this.rating, rating);
         this.rating = rating;
         this.lastUpdated = LocalDateTime.now();
     }
     
     public void setNotes(String notes) {
+        markChanged(Field.NOTES, this.notes, notes);
         this.notes = notes;
+        this.notesLoaded = true;
         this.lastUpdated = LocalDateTime.now();
     }
     
+    /**
+     * Notes as stored - used by the DAO when loading, not recorded as a change
+     */
+    public void setLoadedNotes(String notes) {
+        this.notes = notes;
+        this.notesLoaded = true;
+        dirtyFields.remove(Field.NOTES);
+    }
+    
+    /**
+     * Status and percentage as stored - used by the DAO when loading. Unlike the
+     * setters this derives nothing, so a row whose status and percentage disagree
+     * reads back exactly as it is in the table.
+     */
+    public void setLoadedState(Status status, int currentProgress) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        this.status = status;
+        this.currentProgress = currentProgress;
+        dirtyFields.remove(Field.STATUS);
+        dirtyFields.remove(Field.CURRENT_PROGRESS);
+    }
+    
+    /**
+     * Mark the notes as not read - used by the DAO for list queries
+     */
+    public void unloadNotes() {
+        this.notes = null;
+        this.notesLoaded = false;
+        dirtyFields.remove(Field.NOTES);
+    }
+    
     public void setStartDate(LocalDate startDate) {
+        markChanged(Field.START_DATE, this.startDate, startDate);
         this.startDate = startDate;
     }
     
     public void setCompletionDate(LocalDate completionDate) {
+        markChanged(Field.COMPLETION_DATE, this.completionDate, completionDate);
         this.completionDate = completionDate;
     }
     
@@ -222,6 +311,10 @@ public class UserProgress {
         this.lastUpdated = lastUpdated;
     }
     
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     public void setUser(User user) {
         this.user = user;
         if (user != null) {
@@ -236,6 +329,21 @@ public class UserProgress {
         }
     }
     
+    // Dirty tracking
+    
+    /**
+     * Forget recorded changes - called once the entry matches the stored row
+     */
+    public void clearDirtyFields() {
+        dirtyFields.clear();
+    }
+    
+    private void markChanged(Field field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            dirtyFields.add(field);
+        }
+    }
+    
     // Utility methods
     public boolean isCompleted() {
         return status == Status.COMPLETED || currentProgress == 100;
@@ -6,6 +6,9 @@ DROP DATABASE IF EXISTS progress_tracker_db;
 CREATE DATABASE progress_tracker_db;
 USE progress_tracker_db;
 
+-- Store and bucket times in UTC, as the application's connections do
+SET time_zone = '+00:00';
+
 -- USER TABLE: Stores user authentication and profile information
 CREATE TABLE user (
     user_id INT PRIMARY KEY AUTO_INCREMENT,
@@ -38,17 +41,165 @@ CREATE TABLE user_progress (
     status ENUM('PLAN_TO_START', 'IN_PROGRESS', 'COMPLETED') NOT NULL DEFAULT 'PLAN_TO_START',
     current_progress INT DEFAULT 0,   -- For films: 0 (not started) or 100 (completed)
     rating DECIMAL(2,1) DEFAULT NULL CHECK (rating >= 1.0 AND rating <= 5.0),
-    notes TEXT,
     start_date DATE DEFAULT NULL,
     completion_date DATE DEFAULT NULL,
     last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version INT NOT NULL DEFAULT 0,   -- Optimistic lock: bumped by every update, checked by updateProgress
     
     -- Foreign key constraints ensure data integrity
     FOREIGN KEY (user_id) REFERENCES user(user_id) ON DELETE CASCADE,
     FOREIGN KEY (topic_id) REFERENCES topic(topic_id) ON DELETE CASCADE,
     
     -- Unique constraint prevents duplicate entries for same user/film combination
-    UNIQUE KEY unique_user_topic (user_id, topic_id)
+    UNIQUE KEY unique_user_topic (user_id, topic_id),
+    
+    -- Serves "newest first" library reads and keyset pagination over (last_updated, progress_id)
+    INDEX idx_user_progress_user_updated (user_id, last_updated, progress_id)
+);
+
+-- USER_PROGRESS_NOTE TABLE: Personal notes, kept out of user_progress so library
+-- listings read short rows; loaded only when a single entry is opened
+CREATE TABLE user_progress_note (
+    progress_id INT PRIMARY KEY,
+    notes TEXT NOT NULL,
+    
+    FOREIGN KEY (progress_id) REFERENCES user_progress(progress_id) ON DELETE CASCADE
+);
+
+-- USER_PROGRESS_SUMMARY TABLE: Per-user status counters derived from user_progress
+-- Updated by the DAO in the same transaction as each progress write;
+-- rebuild with: mvn exec:java -Dexec.args="--rebuild-stats"
+CREATE TABLE user_progress_summary (
+    user_id INT PRIMARY KEY,
+    total_count INT NOT NULL DEFAULT 0,
+    plan_to_start_count INT NOT NULL DEFAULT 0,
+    in_progress_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    
+    FOREIGN KEY (user_id) REFERENCES user(user_id) ON DELETE CASCADE
+);
+
+-- TOPIC_STATS TABLE: Per-film tracker counts and rating totals derived from user_progress
+-- Maintained like user_progress_summary; average rating = rating_sum / rating_count
+CREATE TABLE topic_stats (
+    topic_id INT PRIMARY KEY,
+    total_count INT NOT NULL DEFAULT 0,
+    plan_to_start_count INT NOT NULL DEFAULT 0,
+    in_progress_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    rating_sum DECIMAL(12,1) NOT NULL DEFAULT 0,
+    rating_count INT NOT NULL DEFAULT 0,
+    
+    -- Rating histogram: one counter per half star, each rating counted at the nearest step
+    rating_1_0_count INT NOT NULL DEFAULT 0,
+    rating_1_5_count INT NOT NULL DEFAULT 0,
+    rating_2_0_count INT NOT NULL DEFAULT 0,
+    rating_2_5_count INT NOT NULL DEFAULT 0,
+    rating_3_0_count INT NOT NULL DEFAULT 0,
+    rating_3_5_count INT NOT NULL DEFAULT 0,
+    rating_4_0_count INT NOT NULL DEFAULT 0,
+    rating_4_5_count INT NOT NULL DEFAULT 0,
+    rating_5_0_count INT NOT NULL DEFAULT 0,
+    
+    FOREIGN KEY (topic_id) REFERENCES topic(topic_id) ON DELETE CASCADE
+);
+
+-- PROGRESS_EVENT TABLE: Outbox of status / percentage / rating changes to user_progress
+-- Written in the same transaction as the change; read with ProgressEventReader.
+-- No foreign keys: events outlive the rows they describe.
+CREATE TABLE progress_event (
+    event_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    progress_id INT NOT NULL,
+    user_id INT NOT NULL,
+    topic_id INT NOT NULL,
+    old_status ENUM('PLAN_TO_START', 'IN_PROGRESS', 'COMPLETED') DEFAULT NULL,  -- NULL for a new entry
+    new_status ENUM('PLAN_TO_START', 'IN_PROGRESS', 'COMPLETED') DEFAULT NULL,  -- NULL for a deleted entry
+    old_progress TINYINT UNSIGNED NOT NULL,
+    new_progress TINYINT UNSIGNED NOT NULL,
+    old_rating DECIMAL(2,1) DEFAULT NULL,
+    new_rating DECIMAL(2,1) DEFAULT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+-- PROGRESS_EVENT_OFFSET TABLE: Last event each named consumer has processed
+CREATE TABLE progress_event_offset (
+    consumer_name VARCHAR(100) PRIMARY KEY,
+    last_event_id BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- PROGRESS_HISTORY TABLE: Append-only log of every progress change, for time-window analytics
+-- Written by the DAO in the same transaction as each change. Range-partitioned by month on
+-- changed_at so range queries only read the months they cover; add future months with
+-- mvn exec:java -Dexec.args="--maintain-history". Partitioned tables cannot have foreign
+-- keys, and the partitioning column must be part of the primary key.
+CREATE TABLE progress_history (
+    history_id BIGINT NOT NULL AUTO_INCREMENT,
+    changed_at DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    progress_id INT NOT NULL,
+    user_id INT NOT NULL,
+    topic_id INT NOT NULL,
+    old_status ENUM('PLAN_TO_START', 'IN_PROGRESS', 'COMPLETED') DEFAULT NULL,  -- NULL for a new entry
+    new_status ENUM('PLAN_TO_START', 'IN_PROGRESS', 'COMPLETED') DEFAULT NULL,  -- NULL for a deleted entry
+    old_progress TINYINT UNSIGNED NOT NULL,
+    new_progress TINYINT UNSIGNED NOT NULL,
+    old_rating DECIMAL(2,1) DEFAULT NULL,
+    new_rating DECIMAL(2,1) DEFAULT NULL,
+    
+    PRIMARY KEY (history_id, changed_at),
+    INDEX idx_progress_history_user_time (user_id, changed_at),
+    INDEX idx_progress_history_topic_time (topic_id, changed_at)
+)
+PARTITION BY RANGE COLUMNS (changed_at) (
+    PARTITION p2026_01 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p2026_02 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p2026_03 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p2026_04 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p2026_05 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p2026_06 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p2026_07 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p2026_08 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p2026_09 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027_01 VALUES LESS THAN ('2027-02-01'),
+    PARTITION p2027_02 VALUES LESS THAN ('2027-03-01'),
+    PARTITION p2027_03 VALUES LESS THAN ('2027-04-01'),
+    PARTITION p2027_04 VALUES LESS THAN ('2027-05-01'),
+    PARTITION p2027_05 VALUES LESS THAN ('2027-06-01'),
+    PARTITION p2027_06 VALUES LESS THAN ('2027-07-01'),
+    PARTITION p2027_07 VALUES LESS THAN ('2027-08-01'),
+    PARTITION p2027_08 VALUES LESS THAN ('2027-09-01'),
+    PARTITION p2027_09 VALUES LESS THAN ('2027-10-01'),
+    PARTITION p2027_10 VALUES LESS THAN ('2027-11-01'),
+    PARTITION p2027_11 VALUES LESS THAN ('2027-12-01'),
+    PARTITION p2027_12 VALUES LESS THAN ('2028-01-01'),
+    PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
+
+-- USER_WATCH_TIME TABLE: Minutes watched per user, rolled up by day and by month
+-- Each progress write adds (new % - old %) x runtime_minutes / 100 to the rows of the
+-- current day and month, in the same transaction. Month rows start on the 1st.
+CREATE TABLE user_watch_time (
+    user_id INT NOT NULL,
+    granularity ENUM('DAY', 'MONTH') NOT NULL,
+    period_start DATE NOT NULL,
+    watch_minutes DECIMAL(12,2) NOT NULL DEFAULT 0,
+    
+    PRIMARY KEY (user_id, granularity, period_start),
+    FOREIGN KEY (user_id) REFERENCES user(user_id) ON DELETE CASCADE
+);
+
+-- TOPIC_WATCH_TIME TABLE: Minutes watched per film across all users, by day and by month
+CREATE TABLE topic_watch_time (
+    topic_id INT NOT NULL,
+    granularity ENUM('DAY', 'MONTH') NOT NULL,
+    period_start DATE NOT NULL,
+    watch_minutes DECIMAL(12,2) NOT NULL DEFAULT 0,
+    
+    PRIMARY KEY (topic_id, granularity, period_start),
+    FOREIGN KEY (topic_id) REFERENCES topic(topic_id) ON DELETE CASCADE
 );
 
 -- Insert sample users for testing
@@ -81,26 +232,98 @@ INSERT INTO topic (title, category, description, runtime_minutes, release_year,
 ('Stalker', 'MOVIES', 'A guide leads two men through an area known as the Zone to find a room that grants wishes.', 162, 1979, 'Sci-Fi', 'Andrei Tarkovsky', 4.1);
 
 -- Insert sample progress data for testing
-INSERT INTO user_progress (user_id, topic_id, status, current_progress, rating, notes) VALUES 
+INSERT INTO user_progress (user_id, topic_id, status, current_progress, rating) VALUES 
 
 -- John's progress (sci-fi enthusiast)
-(1, 1, 'COMPLETED', 100, 5.0, 'Kubrick''s masterpiece. A true cinematic experience that transcends genre.'),
-(1, 3, 'COMPLETED', 100, 4.5, 'Mind-bending and revolutionary. Changed how I think about reality.'),
-(1, 5, 'COMPLETED', 100, 4.0, 'Nolan at his best. Emotional and scientifically fascinating.'),
-(1, 6, 'IN_PROGRESS', 50, NULL, 'Halfway through. The AI conversations are incredibly well done.'),
-(1, 9, 'PLAN_TO_START', 0, NULL, 'Been meaning to watch this Tarkovsky classic for ages.'),
+(1, 1, 'COMPLETED', 100, 5.0),
+(1, 3, 'COMPLETED', 100, 4.5),
+(1, 5, 'COMPLETED', 100, 4.0),
+(1, 6, 'IN_PROGRESS', 50, NULL),
+(1, 9, 'PLAN_TO_START', 0, NULL),
 
 -- Jane's progress (casual sci-fi viewer)
-(2, 2, 'COMPLETED', 100, 4.5, 'Visually stunning sequel that honors the original perfectly.'),
-(2, 4, 'COMPLETED', 100, 4.0, 'Beautiful and thought-provoking. Amy Adams was incredible.'),
-(2, 7, 'COMPLETED', 100, 3.5, 'Interesting concept but a bit slow for my taste.'),
-(2, 8, 'IN_PROGRESS', 75, NULL, 'Almost finished. The future crime prediction is fascinating.'),
-(2, 10, 'PLAN_TO_START', 0, NULL, 'Friend recommended this. Another Tarkovsky film to explore.');
+(2, 2, 'COMPLETED', 100, 4.5),
+(2, 4, 'COMPLETED', 100, 4.0),
+(2, 7, 'COMPLETED', 100, 3.5),
+(2, 8, 'IN_PROGRESS', 75, NULL),
+(2, 10, 'PLAN_TO_START', 0, NULL);
+
+-- Notes for the sample progress rows above (progress IDs 1-10 in insert order)
+INSERT INTO user_progress_note (progress_id, notes) VALUES 
+(1, 'Kubrick''s masterpiece. A true cinematic experience that transcends genre.'),
+(2, 'Mind-bending and revolutionary. Changed how I think about reality.'),
+(3, 'Nolan at his best. Emotional and scientifically fascinating.'),
+(4, 'Halfway through. The AI conversations are incredibly well done.'),
+(5, 'Been meaning to watch this Tarkovsky classic for ages.'),
+(6, 'Visually stunning sequel that honors the original perfectly.'),
+(7, 'Beautiful and thought-provoking. Amy Adams was incredible.'),
+(8, 'Interesting concept but a bit slow for my taste.'),
+(9, 'Almost finished. The future crime prediction is fascinating.'),
+(10, 'Friend recommended this. Another Tarkovsky film to explore.');
+
+-- Seed the derived statistics from the sample progress rows
+INSERT INTO user_progress_summary (user_id, total_count, plan_to_start_count, in_progress_count, completed_count)
+SELECT user_id, COUNT(*),
+       SUM(status = 'PLAN_TO_START'), SUM(status = 'IN_PROGRESS'), SUM(status = 'COMPLETED')
+FROM user_progress GROUP BY user_id;
+
+INSERT INTO topic_stats (topic_id, total_count, plan_to_start_count, in_progress_count, completed_count,
+                         rating_sum, rating_count,
+                         rating_1_0_count, rating_1_5_count, rating_2_0_count,
+                         rating_2_5_count, rating_3_0_count, rating_3_5_count,
+                         rating_4_0_count, rating_4_5_count, rating_5_0_count)
+SELECT topic_id, COUNT(*),
+       SUM(status = 'PLAN_TO_START'), SUM(status = 'IN_PROGRESS'), SUM(status = 'COMPLETED'),
+       COALESCE(SUM(rating), 0), COUNT(rating),
+       COALESCE(SUM(ROUND(rating * 2) = 2), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 3), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 4), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 5), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 6), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 7), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 8), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 9), 0),
+       COALESCE(SUM(ROUND(rating * 2) = 10), 0)
+FROM user_progress GROUP BY topic_id;
+
+-- Record the sample entries as created at setup time
+INSERT INTO progress_history (progress_id, user_id, topic_id, old_status, new_status,
+                              old_progress, new_progress, old_rating, new_rating)
+SELECT progress_id, user_id, topic_id, NULL, status, 0, current_progress, NULL, rating
+FROM user_progress;
+
+-- Seed the watch-time rollups from that history
+INSERT INTO user_watch_time (user_id, granularity, period_start, watch_minutes)
+SELECT h.user_id, g.granularity,
+       IF(g.granularity = 'DAY', DATE(h.changed_at), DATE_FORMAT(h.changed_at, '%Y-%m-01')),
+       SUM((CAST(h.new_progress AS SIGNED) - CAST(h.old_progress AS SIGNED)) * t.runtime_minutes) / 100
+FROM progress_history h
+JOIN topic t ON t.topic_id = h.topic_id
+CROSS JOIN (SELECT 'DAY' AS granularity UNION ALL SELECT 'MONTH') g
+WHERE h.new_status IS NOT NULL AND t.runtime_minutes IS NOT NULL
+GROUP BY h.user_id, g.granularity, 3;
+
+INSERT INTO topic_watch_time (topic_id, granularity, period_start, watch_minutes)
+SELECT h.topic_id, g.granularity,
+       IF(g.granularity = 'DAY', DATE(h.changed_at), DATE_FORMAT(h.changed_at, '%Y-%m-01')),
+       SUM((CAST(h.new_progress AS SIGNED) - CAST(h.old_progress AS SIGNED)) * t.runtime_minutes) / 100
+FROM progress_history h
+JOIN topic t ON t.topic_id = h.topic_id
+CROSS JOIN (SELECT 'DAY' AS granularity UNION ALL SELECT 'MONTH') g
+WHERE h.new_status IS NOT NULL AND t.runtime_minutes IS NOT NULL
+GROUP BY h.topic_id, g.granularity, 3;
 
 -- Display the created tables structure
 DESCRIBE user;
 DESCRIBE topic; 
 DESCRIBE user_progress;
+DESCRIBE user_progress_note;
+DESCRIBE user_progress_summary;
+DESCRIBE topic_stats;
+DESCRIBE progress_event;
+DESCRIBE progress_history;
+DESCRIBE user_watch_time;
+DESCRIBE topic_watch_time;
 
 -- Show sample data
 SELECT 'USERS:' as 'TABLE';
@@ -110,8 +333,9 @@ SELECT 'SCI-FI FILMS:' as 'TABLE';
 SELECT topic_id, title, director, release_year, letterboxd_rating, runtime_minutes FROM topic ORDER BY letterboxd_rating DESC;
 
 SELECT 'USER PROGRESS:' as 'TABLE';
-SELECT up.user_id, u.username, t.title, up.status, up.current_progress, up.rating, up.notes 
+SELECT up.user_id, u.username, t.title, up.status, up.current_progress, up.rating, n.notes 
 FROM user_progress up 
 JOIN user u ON up.user_id = u.user_id 
 JOIN topic t ON up.topic_id = t.topic_id 
+LEFT JOIN user_progress_note n ON n.progress_id = up.progress_id 
 ORDER BY u.username, t.title;
\ No newline at end of file
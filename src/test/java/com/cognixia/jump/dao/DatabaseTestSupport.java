@@ -0,0 +1,72 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+import com.cognixia.jump.connection.PoolStats;
+import com.cognixia.jump.model.Topic;
+import com.cognixia.jump.model.User;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for tests that run against the progress_tracker_db set up by
+ * database_setup.sql. Without a reachable database every test is skipped,
+ * so the build stays green on machines without MySQL.
+ *
+ * Each test class gets its own user, deleted again afterwards.
+ */
+public abstract class DatabaseTestSupport {
+
+    protected static ConnectionManager connectionManager;
+    protected static UserDAO userDAO;
+    protected static TopicDAO topicDAO;
+    protected static UserProgressDAOImpl progressDAO;
+    protected static User testUser;
+
+    @BeforeClass
+    public static void connect() throws Exception {
+        connectionManager = ConnectionManager.getInstance();
+        Assume.assumeTrue("progress_tracker_db is not reachable", connectionManager.testConnection());
+
+        progressDAO = new UserProgressDAOImpl();
+        userDAO = new UserDAOImpl(progressDAO.getProgressDeleter());
+        topicDAO = new TopicDAOImpl(progressDAO.getProgressDeleter());
+
+        String username = "test_" + System.nanoTime();
+        testUser = userDAO.createUser(new User(username, "password123", username + "@example.com"));
+    }
+
+    @AfterClass
+    public static void cleanUp() throws Exception {
+        if (testUser != null) {
+            userDAO.deleteUser(testUser.getUserId());
+            testUser = null;
+        }
+        if (progressDAO != null) {
+            progressDAO.close();
+        }
+    }
+
+    /**
+     * IDs of every film in the catalog
+     */
+    protected static List<Integer> topicIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (Topic topic : topicDAO.getAllTopics()) {
+            ids.add(topic.getTopicId());
+        }
+        return ids;
+    }
+
+    /**
+     * prepareStatement() calls made on pooled connections so far
+     */
+    protected static long preparedStatements() {
+        PoolStats stats = connectionManager.getPoolStats();
+        return stats.getStatementCacheHits() + stats.getStatementCacheMisses();
+    }
+}
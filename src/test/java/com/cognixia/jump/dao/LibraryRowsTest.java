@@ -0,0 +1,76 @@
+package com.cognixia.jump.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.cognixia.jump.model.UserProgress;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * listLibraryRows returns the same entries as getUserProgress, with the
+ * fields the list screens show carrying the same values.
+ */
+public class LibraryRowsTest extends DatabaseTestSupport {
+
+    @BeforeClass
+    public static void createLibrary() throws Exception {
+        List<UserProgress> library = new ArrayList<>();
+        for (int topicId : topicIds()) {
+            library.add(new UserProgress(testUser.getUserId(), topicId, UserProgress.Status.PLAN_TO_START));
+        }
+        progressDAO.createProgressBatch(library);
+
+        // Mix statuses, percentages and ratings, leaving some entries untouched
+        for (int i = 0; i < library.size(); i += 3) {
+            int progressId = library.get(i).getProgressId();
+            progressDAO.updateProgressPercentage(progressId, i % 2 == 0 ? 40 : 100);
+            progressDAO.updateRating(progressId, 1.0 + i % 5);
+        }
+    }
+
+    @Test
+    public void libraryRowsMatchFullEntries() throws Exception {
+        int userId = testUser.getUserId();
+        List<UserProgress> full = progressDAO.getUserProgress(userId);
+        List<LibraryRow> rows = progressDAO.listLibraryRows(userId, null);
+
+        assertTrue(full.size() > 1);
+        assertRowsMatch(full, rows);
+    }
+
+    @Test
+    public void statusFilterMatchesGetUserProgressByStatus() throws Exception {
+        int userId = testUser.getUserId();
+        for (UserProgress.Status status : UserProgress.Status.values()) {
+            assertRowsMatch(progressDAO.getUserProgressByStatus(userId, status),
+                            progressDAO.listLibraryRows(userId, status));
+        }
+    }
+
+    private static void assertRowsMatch(List<UserProgress> full, List<LibraryRow> rows) {
+        assertEquals(full.size(), rows.size());
+
+        Map<Integer, UserProgress> byId = new HashMap<>();
+        for (UserProgress progress : full) {
+            byId.put(progress.getProgressId(), progress);
+        }
+
+        for (LibraryRow row : rows) {
+            UserProgress progress = byId.get(row.progressId);
+            assertNotNull("no getUserProgress entry for progress " + row.progressId, progress);
+            assertEquals(progress.getTopicId(), row.topicId);
+            assertEquals(progress.getTopic().getTitle(), row.title);
+            assertEquals(progress.getStatus(), row.status);
+            assertEquals(progress.getCurrentProgress(), row.currentProgress);
+            assertEquals(progress.getRating(), row.rating);
+        }
+    }
+}
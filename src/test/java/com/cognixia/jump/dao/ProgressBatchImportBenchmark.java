@@ -0,0 +1,93 @@
+package com.cognixia.jump.dao;
+
+import com.cognixia.jump.connection.ConnectionManager;
+import com.cognixia.jump.model.Topic;
+import com.cognixia.jump.model.User;
+import com.cognixia.jump.model.UserProgress;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows per second for a bulk import through createProgressBatch against the
+ * same number of single createProgress calls. Not part of the test suite;
+ * run it by hand against progress_tracker_db:
+ *
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *       com.cognixia.jump.dao.ProgressBatchImportBenchmark [rows]
+ */
+public class ProgressBatchImportBenchmark {
+
+    private static final int DEFAULT_ROWS = 300;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+
+        ConnectionManager connectionManager = ConnectionManager.getInstance();
+        if (!connectionManager.testConnection()) {
+            System.err.println("progress_tracker_db is not reachable");
+            return;
+        }
+
+        UserProgressDAOImpl progressDAO = new UserProgressDAOImpl();
+        UserDAO userDAO = new UserDAOImpl(progressDAO.getProgressDeleter());
+        TopicDAO topicDAO = new TopicDAOImpl(progressDAO.getProgressDeleter());
+
+        List<Integer> topicIds = new ArrayList<>();
+        User batchUser = null;
+        User rowByRowUser = null;
+
+        try {
+            for (int i = 0; i < rows; i++) {
+                Topic topic = topicDAO.createTopic(new Topic("Benchmark Film " + i + " " + System.nanoTime(),
+                        "Created by ProgressBatchImportBenchmark", 100, Year.of(2000), "Test", 3.0));
+                topicIds.add(topic.getTopicId());
+            }
+            batchUser = createUser(userDAO, "bench_batch_");
+            rowByRowUser = createUser(userDAO, "bench_rows_");
+
+            List<UserProgress> batch = new ArrayList<>();
+            for (int topicId : topicIds) {
+                batch.add(new UserProgress(batchUser.getUserId(), topicId, UserProgress.Status.PLAN_TO_START));
+            }
+
+            long start = System.nanoTime();
+            progressDAO.createProgressBatch(batch);
+            long batchNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int topicId : topicIds) {
+                progressDAO.createProgress(new UserProgress(rowByRowUser.getUserId(), topicId,
+                        UserProgress.Status.PLAN_TO_START));
+            }
+            long rowByRowNanos = System.nanoTime() - start;
+
+            System.out.printf("createProgressBatch: %.0f rows/s, createProgress: %.0f rows/s (%d rows)%n",
+                    rowsPerSecond(rows, batchNanos), rowsPerSecond(rows, rowByRowNanos), rows);
+
+        } finally {
+            if (batchUser != null) {
+                userDAO.deleteUser(batchUser.getUserId());
+            }
+            if (rowByRowUser != null) {
+                userDAO.deleteUser(rowByRowUser.getUserId());
+            }
+            for (int topicId : topicIds) {
+                topicDAO.deleteTopic(topicId);
+            }
+            progressDAO.close();
+            connectionManager.shutdown();
+        }
+    }
+
+    private static User createUser(UserDAO userDAO, String prefix) throws Exception {
+        String username = prefix + System.nanoTime();
+        return userDAO.createUser(new User(username, "password123", username + "@example.com"));
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,84 @@
+package com.cognixia.jump.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.cognixia.jump.model.Topic;
+import com.cognixia.jump.model.UserProgress;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outcomes and generated IDs reported by createProgressBatch. The timing
+ * comparison with createProgress lives in ProgressBatchImportBenchmark.
+ */
+public class ProgressBatchImportTest extends DatabaseTestSupport {
+
+    // More than one JDBC batch
+    private static final int ROWS = 120;
+    private static final int BATCH_SIZE = 50;
+
+    private static final List<Integer> importTopicIds = new ArrayList<>();
+
+    @BeforeClass
+    public static void createFilms() throws Exception {
+        for (int i = 0; i < ROWS; i++) {
+            Topic topic = topicDAO.createTopic(new Topic("Import Test Film " + i + " " + System.nanoTime(),
+                    "Created by ProgressBatchImportTest", 100, Year.of(2000), "Test", 3.0));
+            importTopicIds.add(topic.getTopicId());
+        }
+    }
+
+    @AfterClass
+    public static void deleteFilms() throws Exception {
+        for (int topicId : importTopicIds) {
+            topicDAO.deleteTopic(topicId);
+        }
+        importTopicIds.clear();
+    }
+
+    @Test
+    public void importReportsInsertedAndDuplicateRows() throws Exception {
+        List<UserProgress> batch = new ArrayList<>();
+        for (int topicId : importTopicIds) {
+            batch.add(new UserProgress(testUser.getUserId(), topicId, UserProgress.Status.PLAN_TO_START));
+        }
+        // Repeats a pair from earlier in the same input
+        batch.add(new UserProgress(testUser.getUserId(), importTopicIds.get(0), UserProgress.Status.IN_PROGRESS));
+
+        ProgressBatchResult result = progressDAO.createProgressBatch(batch, BATCH_SIZE);
+
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < ROWS; i++) {
+            assertEquals(ProgressBatchResult.Outcome.INSERTED, result.outcomes[i]);
+            assertTrue(result.generatedIds[i] > 0);
+            assertEquals(result.generatedIds[i], batch.get(i).getProgressId());
+            ids.add(result.generatedIds[i]);
+        }
+        assertEquals("generated IDs are distinct", ROWS, ids.size());
+        assertEquals(ProgressBatchResult.Outcome.DUPLICATE, result.outcomes[ROWS]);
+        assertEquals(0, result.generatedIds[ROWS]);
+
+        // The same pairs again are all already tracked
+        List<UserProgress> again = new ArrayList<>();
+        for (int topicId : importTopicIds) {
+            again.add(new UserProgress(testUser.getUserId(), topicId, UserProgress.Status.PLAN_TO_START));
+        }
+
+        ProgressBatchResult repeated = progressDAO.createProgressBatch(again, BATCH_SIZE);
+
+        assertEquals(ROWS, repeated.count(ProgressBatchResult.Outcome.DUPLICATE));
+        for (int id : repeated.generatedIds) {
+            assertEquals(0, id);
+        }
+        assertEquals(ROWS, progressDAO.getUserProgressSummary(testUser.getUserId()).totalTracking);
+    }
+}
@@ -0,0 +1,73 @@
+package com.cognixia.jump.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.cognixia.jump.model.UserProgress;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Library reads hydrate User and Topic in the same joined query, so each call
+ * prepares exactly one statement however many entries the library has.
+ */
+public class UserProgressStatementCountTest extends DatabaseTestSupport {
+
+    private static UserProgress firstEntry;
+
+    @BeforeClass
+    public static void createLibrary() throws Exception {
+        List<UserProgress> library = new ArrayList<>();
+        for (int topicId : topicIds()) {
+            library.add(new UserProgress(testUser.getUserId(), topicId, UserProgress.Status.IN_PROGRESS));
+        }
+        progressDAO.createProgressBatch(library);
+        firstEntry = progressDAO.getUserProgress(testUser.getUserId()).get(0);
+    }
+
+    @Test
+    public void getUserProgressUsesOneStatement() throws Exception {
+        List<UserProgress> library = assertOneStatement(() -> progressDAO.getUserProgress(testUser.getUserId()));
+
+        assertTrue(library.size() > 1);
+        for (UserProgress progress : library) {
+            assertEquals(testUser.getUsername(), progress.getUser().getUsername());
+            assertTrue(progress.getTopic().getTitle() != null);
+        }
+    }
+
+    @Test
+    public void getUserProgressByStatusUsesOneStatement() throws Exception {
+        List<UserProgress> library = assertOneStatement(() ->
+                progressDAO.getUserProgressByStatus(testUser.getUserId(), UserProgress.Status.IN_PROGRESS));
+
+        assertTrue(library.size() > 1);
+    }
+
+    @Test
+    public void findByIdUsesOneStatement() throws Exception {
+        UserProgress progress = assertOneStatement(() -> progressDAO.findById(firstEntry.getProgressId()).get());
+
+        assertEquals(firstEntry.getTopicId(), progress.getTopic().getTopicId());
+    }
+
+    @Test
+    public void findByUserAndTopicUsesOneStatement() throws Exception {
+        UserProgress progress = assertOneStatement(() ->
+                progressDAO.findByUserAndTopic(testUser.getUserId(), firstEntry.getTopicId()).get());
+
+        assertEquals(firstEntry.getProgressId(), progress.getProgressId());
+    }
+
+    private static <T> T assertOneStatement(Callable<T> read) throws Exception {
+        long before = preparedStatements();
+        T result = read.call();
+        assertEquals("statements prepared", 1, preparedStatements() - before);
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cognixia.jump.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.cognixia.jump.model.UserProgress;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * The summary counters are moved by deltas against the locked row, so the
+ * locked image has to carry the stored status even when the percentage on
+ * the row suggests a different one.
+ */
+public class UserSummaryMaintenanceTest extends DatabaseTestSupport {
+
+    @Test
+    public void deltaUsesStoredStatusOfLockedRow() throws Exception {
+        int userId = testUser.getUserId();
+        UserProgress progress = progressDAO.createProgress(
+                new UserProgress(userId, topicIds().get(0), UserProgress.Status.PLAN_TO_START));
+
+        // A plan-to-start row with a percentage, as left by older imports
+        try (Connection conn = connectionManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "UPDATE user_progress SET current_progress = 50 WHERE progress_id = ?")) {
+            pstmt.setInt(1, progress.getProgressId());
+            pstmt.executeUpdate();
+        }
+
+        UserProgressSummary before = progressDAO.getUserProgressSummary(userId);
+        assertTrue(progressDAO.updateProgressPercentage(progress.getProgressId(), 100));
+        UserProgressSummary after = progressDAO.getUserProgressSummary(userId);
+
+        assertEquals(before.totalTracking, after.totalTracking);
+        assertEquals(before.planToStart - 1, after.planToStart);
+        assertEquals(before.inProgress, after.inProgress);
+        assertEquals(before.completed + 1, after.completed);
+    }
+}